@@ -0,0 +1,117 @@
+package devlava.jwt.benchmark;
+
+import devlava.jwt.config.AuthMetrics;
+import devlava.jwt.config.JwtUtils;
+import devlava.jwt.entity.Member;
+import devlava.jwt.entity.Role;
+import devlava.jwt.filter.JwtAuthenticationFilter;
+import devlava.jwt.repository.MemberRepository;
+import devlava.jwt.repository.RevokedAccessTokenRepository;
+import devlava.jwt.service.AccessTokenDenylist;
+import devlava.jwt.service.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+/**
+ * 인증 벤치마크에서 공유하는 상태 (Spring 컨텍스트 없이 구성)
+ */
+public final class AuthBenchmarkSupport {
+
+    private AuthBenchmarkSupport() {
+    }
+
+    @State(Scope.Benchmark)
+    public static class JwtState {
+
+        // false 이면 검증 캐시를 끄고 매번 서명 검증
+        @Param({"true", "false"})
+        public boolean claimsCache;
+
+        public JwtUtils jwtUtils;
+        public Member member;
+        public String token;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            jwtUtils = new JwtUtils();
+            ReflectionTestUtils.setField(jwtUtils, "secret", "benchmark-secret-key-must-be-at-least-32-characters");
+            ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", 600000L);
+            ReflectionTestUtils.setField(jwtUtils, "refreshExpiration", 86400000L);
+            ReflectionTestUtils.setField(jwtUtils, "claimsCacheEnabled", claimsCache);
+            ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", 10000L);
+            ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+
+            member = new Member();
+            member.setId("bench-member");
+            member.setUsername("bench-user");
+            Role role = new Role();
+            role.setId(member.getId());
+            role.setRoleName(Role.RoleType.USER);
+            role.setMember(member);
+            member.setRole(role);
+
+            token = jwtUtils.generateToken(member);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        // true: Claims 로 인증, false: UserDetailsService 조회 (DB 대신 고정 응답)
+        @Param({"true", "false"})
+        public boolean stateless;
+
+        public JwtAuthenticationFilter filter;
+
+        @Setup(Level.Trial)
+        public void setUp(JwtState jwtState) {
+            MemberRepository memberRepository = Mockito.mock(MemberRepository.class);
+            TokenVersionService tokenVersionService = new TokenVersionService(memberRepository,
+                    Mockito.mock(ApplicationEventPublisher.class));
+            tokenVersionService.reload();
+
+            AccessTokenDenylist denylist = new AccessTokenDenylist(Mockito.mock(RevokedAccessTokenRepository.class));
+            ReflectionTestUtils.setField(denylist, "jwtExpiration", 600000L);
+            ReflectionTestUtils.setField(denylist, "expectedRevocations", 100000L);
+            ReflectionTestUtils.setField(denylist, "falsePositiveRate", 0.001);
+            denylist.init();
+
+            UserDetailsService userDetailsService = username -> new User(jwtState.member.getId(), "",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+            filter = new JwtAuthenticationFilter(jwtState.jwtUtils, userDetailsService, tokenVersionService,
+                    denylist, new AuthMetrics(new SimpleMeterRegistry()), stateless);
+        }
+    }
+
+    /**
+     * 스레드별 요청/응답 (MockHttpServletRequest 는 스레드 안전하지 않음)
+     */
+    @State(Scope.Thread)
+    public static class RequestState {
+
+        public MockHttpServletRequest request;
+        public MockHttpServletResponse response;
+        public FilterChain chain;
+
+        @Setup(Level.Trial)
+        public void setUp(JwtState jwtState) {
+            request = new MockHttpServletRequest("GET", "/api/event/check");
+            request.addHeader("Authorization", "Bearer " + jwtState.token);
+            response = new MockHttpServletResponse();
+            chain = (req, res) -> {
+            };
+        }
+    }
+}
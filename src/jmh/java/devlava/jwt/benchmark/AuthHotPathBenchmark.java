@@ -0,0 +1,44 @@
+package devlava.jwt.benchmark;
+
+import devlava.jwt.benchmark.AuthBenchmarkSupport.FilterState;
+import devlava.jwt.benchmark.AuthBenchmarkSupport.JwtState;
+import devlava.jwt.benchmark.AuthBenchmarkSupport.RequestState;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 경로 벤치마크
+ * 스레드 수는 하위 클래스에서 지정합니다. (단일 스레드 / 경합)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public abstract class AuthHotPathBenchmark {
+
+    @Benchmark
+    public String generateToken(JwtState jwtState) {
+        return jwtState.jwtUtils.generateToken(jwtState.member);
+    }
+
+    @Benchmark
+    public Boolean validateToken(JwtState jwtState) {
+        return jwtState.jwtUtils.validateToken(jwtState.token);
+    }
+
+    @Benchmark
+    public String extractUsername(JwtState jwtState) {
+        return jwtState.jwtUtils.extractUsername(jwtState.token);
+    }
+
+    @Benchmark
+    public Authentication doFilterInternal(FilterState filterState, RequestState requestState) throws Exception {
+        try {
+            filterState.filter.doFilter(requestState.request, requestState.response, requestState.chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
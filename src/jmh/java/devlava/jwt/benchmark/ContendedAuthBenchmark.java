@@ -0,0 +1,10 @@
+package devlava.jwt.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 검증 캐시와 토큰 버전/폐기 목록을 여러 스레드가 동시에 읽는 경우
+ */
+@Threads(8)
+public class ContendedAuthBenchmark extends AuthHotPathBenchmark {
+}
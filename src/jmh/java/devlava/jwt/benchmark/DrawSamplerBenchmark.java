@@ -0,0 +1,60 @@
+package devlava.jwt.benchmark;
+
+import devlava.jwt.service.AliasTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 당첨 추첨 벤치마크
+ * alias 테이블 추첨(O(1))과 누적 확률 선형 탐색(O(n))을 결과 개수별로 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DrawSamplerBenchmark {
+
+    // 결과 개수 (미당첨 포함)
+    @Param({"3", "11", "101"})
+    public int outcomes;
+
+    private AliasTable aliasTable;
+    private double[] cumulative;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 미당첨 97%, 나머지를 등수별로 균등 분배
+        double[] weights = new double[outcomes];
+        weights[0] = 0.97;
+        for (int i = 1; i < outcomes; i++) {
+            weights[i] = 0.03 / (outcomes - 1);
+        }
+        aliasTable = AliasTable.of(weights);
+
+        cumulative = new double[outcomes];
+        double sum = 0;
+        for (int i = 0; i < outcomes; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public int aliasSample() {
+        return aliasTable.sample(random);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        double value = random.nextDouble() * cumulative[outcomes - 1];
+        for (int i = 0; i < outcomes; i++) {
+            if (value < cumulative[i]) {
+                return i;
+            }
+        }
+        return outcomes - 1;
+    }
+}
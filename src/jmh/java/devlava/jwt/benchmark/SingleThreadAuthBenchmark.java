@@ -0,0 +1,7 @@
+package devlava.jwt.benchmark;
+
+import org.openjdk.jmh.annotations.Threads;
+
+@Threads(1)
+public class SingleThreadAuthBenchmark extends AuthHotPathBenchmark {
+}
@@ -0,0 +1,71 @@
+package devlava.jwt.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증 필터 단계별 지연 시간 메트릭
+ * - auth.filter            : JwtAuthenticationFilter 전체 (다음 필터 실행 시간 제외)
+ * - auth.jwt.parse         : 토큰 검증 (캐시 조회 포함)
+ * - auth.jwt.verify        : 캐시에 없어 실제로 서명을 검증한 경우
+ * - auth.userdetails.load  : UserDetailsService 조회
+ * - auth.jwt.claims.cache  : 검증 캐시 hit/miss 건수
+ * 백분위 히스토그램은 application.yml 의 management.metrics.distribution 설정으로 켭니다.
+ */
+@Component
+public class AuthMetrics {
+
+    private final Map<AuthOutcome, Timer> filterTimers;
+    private final Map<AuthOutcome, Timer> parseTimers;
+    private final Map<AuthOutcome, Timer> verifyTimers;
+    private final Map<AuthOutcome, Timer> userDetailsTimers;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.filterTimers = timers(meterRegistry, "auth.filter", "JWT 인증 필터 전체 처리 시간");
+        this.parseTimers = timers(meterRegistry, "auth.jwt.parse", "JWT 검증 시간 (캐시 조회 포함)");
+        this.verifyTimers = timers(meterRegistry, "auth.jwt.verify", "JWT 서명 검증 시간 (캐시 miss)");
+        this.userDetailsTimers = timers(meterRegistry, "auth.userdetails.load", "UserDetailsService 조회 시간");
+        this.cacheHits = Counter.builder("auth.jwt.claims.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("auth.jwt.claims.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    // 핫 패스에서 매번 Meter 를 조회하지 않도록 outcome 별 Timer 를 미리 등록
+    private static Map<AuthOutcome, Timer> timers(MeterRegistry meterRegistry, String name, String description) {
+        Map<AuthOutcome, Timer> timers = new EnumMap<>(AuthOutcome.class);
+        for (AuthOutcome outcome : AuthOutcome.values()) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome.tagValue())
+                    .register(meterRegistry));
+        }
+        return timers;
+    }
+
+    public void recordFilter(AuthOutcome outcome, long nanos) {
+        filterTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordParse(AuthOutcome outcome, long nanos) {
+        parseTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVerify(AuthOutcome outcome, long nanos) {
+        verifyTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUserDetailsLoad(AuthOutcome outcome, long nanos) {
+        userDetailsTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordClaimsCache(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+}
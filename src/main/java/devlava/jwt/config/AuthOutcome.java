@@ -0,0 +1,19 @@
+package devlava.jwt.config;
+
+import java.util.Locale;
+
+/**
+ * 인증 단계별 결과 (메트릭 outcome 태그 값)
+ */
+public enum AuthOutcome {
+    VALID,
+    EXPIRED,
+    BAD_SIGNATURE,
+    MALFORMED,
+    REVOKED,
+    UNKNOWN_USER;
+
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
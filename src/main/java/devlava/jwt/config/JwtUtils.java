@@ -1,20 +1,35 @@
 package devlava.jwt.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import devlava.jwt.entity.Member;
+import devlava.jwt.service.JwtKeyService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtils {
 
+    public static final String CLAIM_MEMBER_ID = "mid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -24,9 +39,51 @@ public class JwtUtils {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.claims-cache.enabled:true}")
+    private boolean claimsCacheEnabled = true;
+
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    // jwt.signing-algorithm=ES256 일 때만 주입 (없으면 jwt.secret 으로 HS256 서명)
+    @Autowired(required = false)
+    private JwtKeyService jwtKeyService;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // 서명 검증을 마친 토큰의 Claims (key: 토큰의 SHA-256 다이제스트)
+    private Cache<String, Claims> verifiedClaimsCache;
+
+    @PostConstruct
+    void init() {
+        if (jwtKeyService != null) {
+            // 헤더의 kid 로 검증 키 선택
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            Key key = jwtKeyService.getVerificationKey(header.getKeyId());
+                            if (key == null) {
+                                throw new SignatureException("Unknown signing key id: " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .build();
+        } else {
+            this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build();
+        }
+        // 꺼져 있으면 캐시 없이 매번 서명 검증 (토큰 해시 계산도 생략)
+        this.verifiedClaimsCache = claimsCacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(claimsCacheMaxSize)
+                        .expireAfter(new ClaimsExpiry())
+                        .build()
+                : null;
     }
 
     public String extractUsername(String token) {
@@ -42,16 +99,85 @@ public class JwtUtils {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * 토큰을 한 번만 검증하고 Claims 를 반환합니다.
+     * 서명이 틀렸거나 만료된 토큰이면 빈 값을 반환합니다.
+     */
+    public Optional<Claims> getVerifiedClaims(String token) {
+        return Optional.ofNullable(verify(token).claims());
+    }
+
+    /**
+     * 토큰 검증 결과
+     *
+     * @param verificationNanos 서명 검증에 걸린 시간 (캐시 hit 이면 0)
+     */
+    public record TokenVerification(AuthOutcome outcome, Claims claims, boolean cacheHit, long verificationNanos) {
+        public boolean isValid() {
+            return outcome == AuthOutcome.VALID;
+        }
+    }
+
+    /**
+     * 토큰을 검증하고 실패 원인(만료, 서명 오류, 형식 오류)까지 함께 반환합니다.
+     */
+    public TokenVerification verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return new TokenVerification(AuthOutcome.MALFORMED, null, false, 0);
+        }
+
+        String cacheKey = cacheKey(token);
+        Claims cached = getCachedClaims(cacheKey);
+        if (cached != null) {
+            return new TokenVerification(AuthOutcome.VALID, cached, true, 0);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = parseAndCache(token, cacheKey);
+            return new TokenVerification(AuthOutcome.VALID, claims, false, System.nanoTime() - start);
+        } catch (ExpiredJwtException e) {
+            return new TokenVerification(AuthOutcome.EXPIRED, null, false, System.nanoTime() - start);
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            return new TokenVerification(AuthOutcome.BAD_SIGNATURE, null, false, System.nanoTime() - start);
+        } catch (JwtException | IllegalArgumentException e) {
+            return new TokenVerification(AuthOutcome.MALFORMED, null, false, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 이미 검증된 토큰이면 캐시된 Claims 를 반환하고, 아니면 서명을 검증한 뒤 캐시에 담습니다.
+     * 캐시 항목은 토큰 만료 시각에 함께 만료됩니다.
+     */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String cacheKey = cacheKey(token);
+        Claims cached = getCachedClaims(cacheKey);
+        return cached != null ? cached : parseAndCache(token, cacheKey);
+    }
+
+    private String cacheKey(String token) {
+        return verifiedClaimsCache != null ? TokenDigestUtils.sha256Hex(token) : null;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Claims getCachedClaims(String cacheKey) {
+        if (verifiedClaimsCache == null) {
+            return null;
+        }
+        Claims cached = verifiedClaimsCache.getIfPresent(cacheKey);
+        return cached != null && !isExpired(cached) ? cached : null;
+    }
+
+    private Claims parseAndCache(String token, String cacheKey) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (verifiedClaimsCache != null && claims.getExpiration() != null) {
+            verifiedClaimsCache.put(cacheKey, claims);
+        }
+        return claims;
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
     public String generateToken(String username) {
@@ -59,34 +185,72 @@ public class JwtUtils {
         return createToken(claims, username, jwtExpiration);
     }
 
+    /**
+     * 회원 ID, 권한, 토큰 버전을 Claims 에 담아 액세스 토큰을 발급합니다.
+     * 필터는 이 Claims 만으로 인증 정보를 만들 수 있어 DB 조회가 필요 없습니다.
+     */
+    public String generateToken(Member member) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_MEMBER_ID, member.getId());
+        claims.put(CLAIM_TOKEN_VERSION, member.getTokenVersion());
+        if (member.getRole() != null) {
+            claims.put(CLAIM_ROLE, member.getRole().getRoleName().name());
+        }
+        return createToken(claims, member.getUsername(), jwtExpiration);
+    }
+
     public String generateRefreshToken(String username) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, username, refreshExpiration);
     }
 
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+
+        if (jwtKeyService != null) {
+            JwtKeyService.KeySnapshot keys = jwtKeyService.getSnapshot();
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, keys.currentKid())
+                    .signWith(keys.currentKey(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return getVerifiedClaims(token).isPresent();
     }
 
     public Long getRefreshExpiration() {
         return refreshExpiration;
     }
+
+    /**
+     * 캐시 항목의 수명을 토큰의 남은 유효 시간으로 맞춥니다.
+     */
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
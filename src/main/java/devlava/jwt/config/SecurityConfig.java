@@ -1,12 +1,16 @@
 package devlava.jwt.config;
 
 import devlava.jwt.filter.JwtAuthenticationFilter;
-import devlava.jwt.service.CustomUserDetailsService;
+import devlava.jwt.service.AccessTokenDenylist;
+import devlava.jwt.service.TokenVersionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -15,11 +19,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtUtils jwtUtils;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthMetrics authMetrics;
 
-    public SecurityConfig(JwtUtils jwtUtils, CustomUserDetailsService userDetailsService) {
+    // true 이면 토큰 Claims 만으로 인증 (요청마다 회원 조회를 하지 않음)
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
+
+    public SecurityConfig(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+            TokenVersionService tokenVersionService, AccessTokenDenylist accessTokenDenylist,
+            AuthMetrics authMetrics) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.authMetrics = authMetrics;
     }
 
     @Bean
@@ -29,9 +45,16 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**", "/h2-console/**", "/api/board/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // 메트릭에는 엔드포인트별 호출량/지연 등 내부 정보가 있으므로 관리자만 조회 (스크레이퍼는 ADMIN 토큰 사용)
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/members/import").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/api/campaigns/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
-                .addFilterBefore(new JwtAuthenticationFilter(jwtUtils, userDetailsService),
+                .addFilterBefore(
+                        new JwtAuthenticationFilter(jwtUtils, userDetailsService, tokenVersionService,
+                                accessTokenDenylist, authMetrics, stateless),
                         UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
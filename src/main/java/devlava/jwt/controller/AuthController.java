@@ -1,6 +1,7 @@
 package devlava.jwt.controller;
 
 import devlava.jwt.config.JwtUtils;
+import devlava.jwt.config.TokenDigestUtils;
 import devlava.jwt.dto.AuthRequest;
 import devlava.jwt.dto.AuthResponse;
 import devlava.jwt.dto.RefreshTokenRequest;
@@ -10,7 +11,15 @@ import devlava.jwt.entity.Role;
 import devlava.jwt.entity.Role.RoleType;
 import devlava.jwt.repository.TokenRepository;
 import devlava.jwt.repository.MemberRepository;
+import devlava.jwt.service.AccessTokenDenylist;
+import devlava.jwt.service.MemberChangedEvent;
+import devlava.jwt.service.TokenVersionService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.util.StringUtils;
@@ -24,13 +33,22 @@ public class AuthController {
     private final MemberRepository memberRepository;
     private final TokenRepository tokenRepository;
     private final JwtUtils jwtUtils;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthController(MemberRepository memberRepository,
             TokenRepository tokenRepository,
-            JwtUtils jwtUtils) {
+            JwtUtils jwtUtils,
+            TokenVersionService tokenVersionService,
+            AccessTokenDenylist accessTokenDenylist,
+            ApplicationEventPublisher eventPublisher) {
         this.memberRepository = memberRepository;
         this.tokenRepository = tokenRepository;
         this.jwtUtils = jwtUtils;
+        this.tokenVersionService = tokenVersionService;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostMapping("/register")
@@ -67,6 +85,8 @@ public class AuthController {
         }
 
         memberRepository.save(member);
+        // 회원 캐시 무효화 (다른 노드 포함)
+        eventPublisher.publishEvent(new MemberChangedEvent(member.getId(), member.getUsername()));
 
         return ResponseEntity.ok("Member registered successfully");
     }
@@ -78,7 +98,7 @@ public class AuthController {
         Member member = memberRepository.findByIdWithRole(request.getId())
                 .orElseThrow(() -> new RuntimeException("Member not found"));
 
-        String accessToken = jwtUtils.generateToken(member.getUsername());
+        String accessToken = jwtUtils.generateToken(member);
         String refreshToken = jwtUtils.generateRefreshToken(member.getUsername());
 
         // 기존 토큰이 있다면 삭제
@@ -87,7 +107,7 @@ public class AuthController {
         // 새로운 리프레시 토큰 저장
         Token token = new Token();
         token.setMember(member);
-        token.setRefreshToken(refreshToken);
+        token.setRefreshTokenHash(TokenDigestUtils.sha256Hex(refreshToken));
         token.setExpiryDate(Instant.now().plusMillis(jwtUtils.getRefreshExpiration()));
         tokenRepository.save(token);
 
@@ -97,18 +117,54 @@ public class AuthController {
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request) {
-        return tokenRepository.findByRefreshTokenWithMemberAndRole(request.getRefreshToken())
+        if (!StringUtils.hasText(request.getRefreshToken())) {
+            return ResponseEntity.badRequest().body("Refresh token not found");
+        }
+
+        return tokenRepository
+                .findByRefreshTokenHashWithMemberAndRole(TokenDigestUtils.sha256Hex(request.getRefreshToken()))
                 .map(token -> {
                     if (token.getExpiryDate().isBefore(Instant.now())) {
                         tokenRepository.delete(token);
                         return ResponseEntity.badRequest().body("Refresh token expired");
                     }
 
-                    String accessToken = jwtUtils.generateToken(token.getMember().getUsername());
+                    String accessToken = jwtUtils.generateToken(token.getMember());
                     RoleType roleType = token.getMember().getRole() != null ? token.getMember().getRole().getRoleName()
                             : null;
                     return ResponseEntity.ok(new AuthResponse(accessToken, request.getRefreshToken(), roleType));
                 })
                 .orElse(ResponseEntity.badRequest().body("Refresh token not found"));
     }
+
+    @PostMapping("/logout")
+    @Transactional
+    public ResponseEntity<?> logout(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated");
+        }
+
+        // 현재 액세스 토큰 폐기 및 리프레시 토큰 삭제
+        jwtUtils.getVerifiedClaims(authHeader.substring(7))
+                .ifPresent(claims -> accessTokenDenylist.revoke(claims.getId(),
+                        claims.getExpiration().toInstant()));
+        tokenRepository.deleteByMemberId(userDetails.getUsername());
+
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
+    @PostMapping("/logout-all")
+    @Transactional
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal UserDetails userDetails) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated");
+        }
+
+        // 회원에게 발급된 모든 액세스 토큰 폐기 및 리프레시 토큰 삭제
+        tokenVersionService.revoke(userDetails.getUsername());
+        tokenRepository.deleteByMemberId(userDetails.getUsername());
+
+        return ResponseEntity.ok("Logged out from all sessions");
+    }
 }
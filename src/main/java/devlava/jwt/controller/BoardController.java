@@ -2,20 +2,27 @@ package devlava.jwt.controller;
 
 import devlava.jwt.dto.BoardDto;
 import devlava.jwt.service.BoardService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -23,6 +30,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BoardController {
 
+    // 게시글은 바뀔 수 있으므로 매번 재검증 (변경이 없으면 304)
+    private static final CacheControl BOARD_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    // 첨부파일 ID 의 내용은 바뀌지 않으므로 브라우저/CDN 이 재검증 없이 사용
+    private static final CacheControl FILE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
     private final BoardService boardService;
 
     @GetMapping("/list")
@@ -39,10 +52,19 @@ public class BoardController {
         return ResponseEntity.ok().body(boardDto);
     }
 
+    // 변경이 없으면 게시글을 읽지 않고 304 로 응답
     @GetMapping("/{boardId}")
-    public ResponseEntity<BoardDto> getBoard(@PathVariable Long boardId) {
+    public ResponseEntity<BoardDto> getBoard(@PathVariable Long boardId, WebRequest webRequest) {
+        BoardService.BoardVersion version = boardService.getBoardVersion(boardId);
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(BOARD_CACHE_CONTROL)
+                    .build();
+        }
         BoardDto boardDto = boardService.getBoard(boardId);
-        return ResponseEntity.ok(boardDto);
+        return ResponseEntity.ok()
+                .cacheControl(BOARD_CACHE_CONTROL)
+                .body(boardDto);
     }
 
     @PutMapping(value = "/{boardId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -54,17 +76,36 @@ public class BoardController {
         return ResponseEntity.ok().body(updatedBoard);
     }
 
+    // Range 요청 (206) 지원 - 동영상 탐색, 끊긴 다운로드 이어받기
+    // 내용이 같으면 첨부파일을 읽거나 파일을 열지 않고 304 로 응답
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long fileId) throws IOException {
+    public void downloadFile(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        String etag = boardService.getFileEtag(fileId);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (etag != null ? FILE_CACHE_CONTROL : BOARD_CACHE_CONTROL).getHeaderValue());
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return;
+        }
+
         BoardService.FileDownloadDto downloadDto = boardService.downloadFile(fileId);
+        // 체크섬이 없는 이전 파일은 수정 시각으로 비교
+        if (etag == null && webRequest.checkNotModified(downloadDto.getLastModified())) {
+            return;
+        }
 
         String encodedFileName = URLEncoder.encode(downloadDto.getOriginalFileName(), StandardCharsets.UTF_8)
                 .replaceAll("\\+", "%20");
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFileName)
-                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(downloadDto.getResource().contentLength()))
-                .body(downloadDto.getResource());
+        // 동영상은 브라우저에서 바로 재생할 수 있도록 실제 타입과 inline 으로 응답
+        boolean video = "VIDEO".equals(downloadDto.getFileType());
+        MediaType contentType = video
+                ? MediaTypeFactory.getMediaType(downloadDto.getOriginalFileName()).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                : MediaType.APPLICATION_OCTET_STREAM;
+        String contentDisposition = (video ? "inline" : "attachment") + "; filename*=UTF-8''" + encodedFileName;
+
+        FileRangeResponder.write(request, response, downloadDto.getFilePath(), downloadDto.getFileSize(), etag,
+                downloadDto.getLastModified(), contentType, contentDisposition);
     }
 }
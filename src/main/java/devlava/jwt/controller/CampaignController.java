@@ -0,0 +1,54 @@
+package devlava.jwt.controller;
+
+import devlava.jwt.dto.CampaignRequest;
+import devlava.jwt.dto.CampaignResponse;
+import devlava.jwt.service.CampaignCatalog;
+import devlava.jwt.service.CampaignDefinition;
+import devlava.jwt.service.CampaignService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/campaigns")
+public class CampaignController {
+
+    private final CampaignCatalog campaignCatalog;
+    private final CampaignService campaignService;
+
+    public CampaignController(CampaignCatalog campaignCatalog, CampaignService campaignService) {
+        this.campaignCatalog = campaignCatalog;
+        this.campaignService = campaignService;
+    }
+
+    // 진행 중인 캠페인 목록 (스냅샷 조회)
+    @GetMapping
+    public ResponseEntity<List<CampaignResponse>> getCampaigns() {
+        List<CampaignResponse> campaigns = campaignCatalog.findAll().stream()
+                .sorted(Comparator.comparing(CampaignDefinition::startDate))
+                .map(this::toResponse)
+                .toList();
+        return ResponseEntity.ok(campaigns);
+    }
+
+    // 캠페인 등록/변경 (관리자)
+    @PutMapping("/{campaignKey}")
+    public ResponseEntity<CampaignResponse> saveCampaign(@PathVariable String campaignKey,
+            @RequestBody CampaignRequest request) {
+        CampaignDefinition campaign = campaignService.save(campaignKey, request);
+        // 비활성으로 저장한 경우 스냅샷에 없음
+        return campaign != null ? ResponseEntity.ok(toResponse(campaign)) : ResponseEntity.noContent().build();
+    }
+
+    private CampaignResponse toResponse(CampaignDefinition campaign) {
+        return CampaignResponse.builder()
+                .key(campaign.key())
+                .name(campaign.name())
+                .startDate(campaign.startDate())
+                .endDate(campaign.endDate())
+                .rankCount(campaign.rankCount())
+                .build();
+    }
+}
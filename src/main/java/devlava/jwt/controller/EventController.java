@@ -1,17 +1,24 @@
 package devlava.jwt.controller;
 
 import devlava.jwt.dto.EventAvailableResponse;
-import devlava.jwt.dto.EventHistoryResponse;
+import devlava.jwt.dto.EventHistoryPageResponse;
 import devlava.jwt.dto.EventResultResponse;
 import devlava.jwt.dto.EventSaveRequest;
+import devlava.jwt.dto.EventStatsResponse;
+import devlava.jwt.entity.Campaign;
 import devlava.jwt.service.EventService;
+import devlava.jwt.service.EventService.HistoryExportFormat;
+import devlava.jwt.service.EventStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/event")
@@ -20,22 +27,55 @@ public class EventController {
     @Autowired
     EventService eventService;
 
+    @Autowired
+    EventStatsService eventStatsService;
+
     @GetMapping("/check")
-    public ResponseEntity<EventAvailableResponse> isAvailable(@AuthenticationPrincipal UserDetails userDetails) {
-        EventAvailableResponse result = eventService.isAvailable(userDetails.getUsername());
+    public ResponseEntity<EventAvailableResponse> isAvailable(
+            @RequestParam(defaultValue = Campaign.DEFAULT_KEY) String campaign,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        EventAvailableResponse result = eventService.isAvailable(campaign, userDetails.getUsername());
         return ResponseEntity.ok(result);
     }
 
     @PostMapping("/save")
     public ResponseEntity<EventResultResponse> saveEvent(@RequestBody EventSaveRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
-        EventResultResponse result = eventService.save(request.isDraw(), userDetails.getUsername());
+        EventResultResponse result = eventService.save(request.getCampaignKey(), userDetails.getUsername());
         return ResponseEntity.ok(result);
     }
 
+    // 일자별 참여자 수, 등수별 당첨자 수, 남은 당첨 인원 (집계 테이블 조회, 짧게 캐시)
+    @GetMapping("/stats")
+    public ResponseEntity<EventStatsResponse> getEventStats(
+            @RequestParam(defaultValue = Campaign.DEFAULT_KEY) String campaign) {
+        return ResponseEntity.ok(eventStatsService.getStats(campaign));
+    }
+
     @GetMapping("/history")
-    public ResponseEntity<List<EventHistoryResponse>> getEventHistory() {
-        List<EventHistoryResponse> history = eventService.getEventHistory();
+    public ResponseEntity<EventHistoryPageResponse> getEventHistory(
+            @RequestParam(defaultValue = Campaign.DEFAULT_KEY) String campaign,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        EventHistoryPageResponse history = eventService.getEventHistory(campaign, cursor, size);
         return ResponseEntity.ok(history);
     }
+
+    // 참여 내역 전체 내보내기 (응답을 모아두지 않고 행 단위로 바로 출력)
+    @GetMapping(value = "/history/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportEventHistoryCsv(
+            @RequestParam(defaultValue = Campaign.DEFAULT_KEY) String campaign) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-history.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(out -> eventService.exportEventHistory(campaign, out, HistoryExportFormat.CSV));
+    }
+
+    @GetMapping(value = "/history/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEventHistoryNdjson(
+            @RequestParam(defaultValue = Campaign.DEFAULT_KEY) String campaign) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> eventService.exportEventHistory(campaign, out, HistoryExportFormat.NDJSON));
+    }
 }
@@ -0,0 +1,216 @@
+package devlava.jwt.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파일을 HTTP Range 요청에 맞춰 내보냅니다.
+ * - Range 가 없거나 If-Range 가 현재 파일과 다르면 전체를 200 으로, 구간이 하나면 206, 여러 개면 multipart/byteranges 로 응답합니다.
+ * - 단일 구간은 Tomcat 이 sendfile 을 지원하면 sendfile 로 넘겨 파일 내용이 애플리케이션을 거치지 않습니다.
+ * - 그 외에는 FileChannel.transferTo 로 응답 스트림에 씁니다. 대상이 일반 채널이라 zero-copy 는 아니고 고정 크기 버퍼로 나누어 복사하지만,
+ *   파일 크기와 무관하게 힙 사용량은 일정합니다.
+ */
+final class FileRangeResponder {
+
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private record Region(long start, long end) {
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    private FileRangeResponder() {
+    }
+
+    static void write(HttpServletRequest request, HttpServletResponse response, Path file, long length,
+            String etag, long lastModified, MediaType contentType, String contentDisposition) throws IOException {
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+
+        boolean head = "HEAD".equals(request.getMethod());
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> ranges = rangeHeader != null && matchesIfRange(request, etag, lastModified)
+                ? parseRanges(rangeHeader)
+                : List.of();
+
+        // Range 가 없거나 무시해야 하는 경우 - 전체 전송
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            if (!head) {
+                sendRegion(request, response, file, new Region(0, length - 1));
+            }
+            return;
+        }
+
+        List<Region> regions = toRegions(ranges, length);
+        if (regions.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (regions.size() == 1) {
+            Region region = regions.get(0);
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, length));
+            response.setContentLengthLong(region.length());
+            if (!head) {
+                sendRegion(request, response, file, region);
+            }
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (Region region : regions) {
+            byte[] partHeader = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, length) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + region.length();
+        }
+        byte[] closeDelimiter = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closeDelimiter.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int i = 0; i < regions.size(); i++) {
+                out.write(partHeaders.get(i));
+                transfer(channel, regions.get(i), target);
+            }
+        }
+        out.write(closeDelimiter);
+        out.flush();
+    }
+
+    /**
+     * If-Range 가 없거나 현재 ETag (strong 비교) 또는 Last-Modified 와 같으면 true 입니다.
+     */
+    private static boolean matchesIfRange(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // weak ETag 는 If-Range 에서 항상 불일치
+            return etag != null && etag.equals(ifRange);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 형식이 잘못되었거나 구간이 너무 많은 Range 헤더는 무시합니다. (전체 전송)
+     */
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * 파일 범위를 벗어나는 구간은 제외합니다.
+     * 구간 합이 파일 크기를 넘으면 (겹치는 구간을 반복 요청하는 경우) 전체 구간 하나로 바꿉니다.
+     */
+    private static List<Region> toRegions(List<HttpRange> ranges, long length) {
+        List<Region> regions = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            try {
+                long start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                if (start <= end) {
+                    Region region = new Region(start, end);
+                    regions.add(region);
+                    total += region.length();
+                }
+            } catch (IllegalArgumentException e) {
+                // 만족할 수 없는 구간
+            }
+        }
+        if (regions.size() > 1 && total > length) {
+            return List.of(new Region(0, length - 1));
+        }
+        return regions;
+    }
+
+    private static String contentRange(Region region, long length) {
+        return "bytes " + region.start() + "-" + region.end() + "/" + length;
+    }
+
+    private static void sendRegion(HttpServletRequest request, HttpServletResponse response, Path file, Region region)
+            throws IOException {
+        if (region.length() <= 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 응답 본문은 Tomcat 이 sendfile 로 직접 전송 (end 는 제외 범위)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, region.start());
+            request.setAttribute(SENDFILE_END_ATTR, region.end() + 1);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(channel, region, Channels.newChannel(out));
+        }
+        out.flush();
+    }
+
+    private static void transfer(FileChannel channel, Region region, WritableByteChannel target) throws IOException {
+        long position = region.start();
+        long remaining = region.length();
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                // 전송 중 파일이 줄어든 경우
+                throw new EOFException("파일이 예상보다 짧습니다.");
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+}
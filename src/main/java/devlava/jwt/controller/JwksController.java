@@ -0,0 +1,44 @@
+package devlava.jwt.controller;
+
+import devlava.jwt.service.JwtKeyService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 서비스가 토큰을 직접 검증할 수 있도록 서명 공개키를 JWKS 형식으로 공개합니다.
+ * HS256 모드에서는 공개할 수 있는 키가 없으므로 빈 목록을 반환합니다.
+ */
+@RestController
+@RequestMapping("/auth")
+public class JwksController {
+
+    private final ObjectProvider<JwtKeyService> jwtKeyService;
+
+    // 응답 캐시 시간 - 새 키는 이 시간과 키 갱신 주기가 지난 뒤 서명에 사용됨 (jwt.keys.activation-delay)
+    private final CacheControl cacheControl;
+
+    public JwksController(ObjectProvider<JwtKeyService> jwtKeyService,
+            @Value("${jwt.keys.jwks-max-age:300000}") long jwksMaxAge) {
+        this.jwtKeyService = jwtKeyService;
+        this.cacheControl = CacheControl.maxAge(jwksMaxAge, TimeUnit.MILLISECONDS).cachePublic();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        JwtKeyService keyService = jwtKeyService.getIfAvailable();
+        List<Map<String, Object>> keys = keyService != null ? keyService.getJwks() : List.of();
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Map.of("keys", keys));
+    }
+}
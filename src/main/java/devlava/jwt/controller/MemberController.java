@@ -1,17 +1,22 @@
 package devlava.jwt.controller;
 
+import devlava.jwt.dto.MemberImportResponse;
 import devlava.jwt.dto.MemberResponse;
 import devlava.jwt.entity.Member;
 import devlava.jwt.repository.MemberRepository;
+import devlava.jwt.service.MemberImportService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,9 +25,11 @@ import java.util.stream.Collectors;
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberImportService memberImportService;
 
-    public MemberController(MemberRepository memberRepository) {
+    public MemberController(MemberRepository memberRepository, MemberImportService memberImportService) {
         this.memberRepository = memberRepository;
+        this.memberImportService = memberImportService;
     }
 
     @GetMapping
@@ -40,4 +47,15 @@ public class MemberController {
 
         return ResponseEntity.ok(members);
     }
-}
\ No newline at end of file
+
+    // 회원 일괄 등록 (요청 본문을 메모리에 모두 올리지 않고 스트리밍 처리)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<MemberImportResponse> importMembersCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(memberImportService.importMembers(body, MemberImportService.Format.CSV));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<MemberImportResponse> importMembersNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(memberImportService.importMembers(body, MemberImportService.Format.NDJSON));
+    }
+}
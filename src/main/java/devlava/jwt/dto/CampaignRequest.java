@@ -0,0 +1,27 @@
+package devlava.jwt.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CampaignRequest {
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private boolean active = true;
+    private List<Tier> tiers = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Tier {
+        private LocalDate eventDay; // 없으면 캠페인 기간 전체에 적용
+        private int rank;
+        private int limit;
+        private double probability; // 참여 1회당 당첨 확률 (0 ~ 1)
+    }
+}
@@ -0,0 +1,16 @@
+package devlava.jwt.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@Builder
+public class CampaignResponse {
+    private String key;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int rankCount;
+}
@@ -0,0 +1,13 @@
+package devlava.jwt.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class EventHistoryPageResponse {
+    private List<EventHistoryResponse> items;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+}
@@ -1,5 +1,6 @@
 package devlava.jwt.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -7,10 +8,12 @@ import java.util.Date;
 
 @Getter
 @Builder
+@AllArgsConstructor // JPQL 생성자 프로젝션 (select new ...) 에서 사용
 public class EventHistoryResponse {
+    private Long id;
     private String memberId;
     private String memberName;
     private boolean draw;
     private int rank;
     private Date createDt;
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package devlava.jwt.dto;
 
+import devlava.jwt.entity.Campaign;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class EventSaveRequest {
-    private boolean draw;
+    private String campaignKey = Campaign.DEFAULT_KEY;
 }
\ No newline at end of file
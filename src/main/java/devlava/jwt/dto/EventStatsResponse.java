@@ -0,0 +1,23 @@
+package devlava.jwt.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Builder
+public class EventStatsResponse {
+    private String campaignKey;
+    private List<Day> days;
+
+    @Getter
+    @Builder
+    public static class Day {
+        private LocalDate day;
+        private long participants;     // 참여자 수 (당첨 + 미당첨)
+        private List<Long> winners;    // 등수별 당첨자 수 (index 0 = 1등)
+        private List<Long> remaining;  // 등수별 남은 당첨 인원 (index 0 = 1등)
+    }
+}
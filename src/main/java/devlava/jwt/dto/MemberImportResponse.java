@@ -0,0 +1,12 @@
+package devlava.jwt.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class MemberImportResponse {
+    private long imported;   // 등록된 회원 수
+    private long duplicates; // ID 또는 username 중복으로 건너뛴 수
+    private long invalid;    // 필수값 누락, 잘못된 권한 등으로 건너뛴 수
+}
@@ -0,0 +1,35 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내용 기준으로 한 번만 저장하는 첨부파일 (SHA-256 다이제스트가 키)
+ * 같은 파일이 여러 게시글에 첨부되면 BoardRef 는 모두 같은 blob 을 가리키고, ref_count 로 참조 수를 관리합니다.
+ */
+@Entity
+@Table(name = "ATTACHMENT_BLOB")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentBlob {
+
+    @Id
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    @Column(name = "CREATE_DT", updatable = false)
+    private LocalDateTime createdAt;
+}
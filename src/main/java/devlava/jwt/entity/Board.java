@@ -11,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "boards")
+@Table(name = "boards", indexes = {
+        // 검색 색인 갱신 - 지정 시각 이후 생성/수정된 게시글 조회
+        @Index(name = "idx_boards_update_dt", columnList = "UPDATE_DT")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +36,11 @@ public class Board {
     @Column(name = "CREATE_DT", updatable = false)
     private LocalDateTime createdAt;
 
+    // 제목/내용/첨부파일 변경 시각 (ETag, Last-Modified 기준, 생성 시에도 채워짐)
+    @UpdateTimestamp
+    @Column(name = "UPDATE_DT")
+    private LocalDateTime updatedAt;
+
     @Builder.Default
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<BoardRef> attachments = new ArrayList<>();
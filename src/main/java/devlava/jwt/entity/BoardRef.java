@@ -38,6 +38,9 @@ public class BoardRef {
     @Column
     private Long fileSize; // 파일 크기 (바이트)
 
+    @Column(length = 64)
+    private String checksum; // 파일 내용의 SHA-256 (hex)
+
     @CreationTimestamp
     @Column(name = "CREATE_DT", updatable = false)
     private LocalDateTime createdAt;
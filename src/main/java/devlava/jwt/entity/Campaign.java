@@ -0,0 +1,44 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 이벤트 캠페인
+ * 진행 기간과 등수별 당첨 인원(CampaignPrizeTier)을 가지며, 여러 캠페인을 동시에 진행할 수 있습니다.
+ */
+@Entity
+@Table(name = "CAMPAIGN")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Campaign {
+
+    // 캠페인 키를 지정하지 않은 참여 요청이 사용하는 기본 캠페인
+    public static final String DEFAULT_KEY = "default";
+
+    @Id
+    @Column(name = "campaign_key", length = 50)
+    private String key;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "active", nullable = false)
+    private boolean active;
+
+    @OneToMany(mappedBy = "campaign", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<CampaignPrizeTier> tiers = new ArrayList<>();
+}
@@ -0,0 +1,31 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 캠페인 설정 버전 (단일 행)
+ * 캠페인이 변경될 때마다 증가하며, 각 노드는 이 값을 주기적으로 확인하여 캠페인 스냅샷을 다시 만듭니다.
+ */
+@Entity
+@Table(name = "CAMPAIGN_CATALOG_VERSION")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CampaignCatalogVersion {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public CampaignCatalogVersion(Long id, long version) {
+        this.id = id;
+        this.version = version;
+    }
+}
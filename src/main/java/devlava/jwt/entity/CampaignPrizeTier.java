@@ -0,0 +1,51 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 캠페인 등수별 일일 당첨 인원과 당첨 확률
+ * event_day 가 없으면 캠페인 기간 전체에 적용되고, 있으면 해당 일자에만 적용됩니다. (일자 지정이 우선)
+ */
+@Entity
+@Table(name = "CAMPAIGN_PRIZE_TIER", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_campaign_prize_tier", columnNames = {"campaign_key", "event_day", "prize_rank"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CampaignPrizeTier {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "campaign_key", nullable = false)
+    private Campaign campaign;
+
+    @Column(name = "event_day")
+    private LocalDate eventDay;
+
+    @Column(name = "prize_rank", nullable = false)
+    private int rank;
+
+    @Column(name = "limit_count", nullable = false)
+    private int limitCount;
+
+    // 한 번 참여할 때 이 등수에 당첨될 확률 (0 ~ 1, 등수별 합은 1 이하)
+    @Column(name = "probability", nullable = false)
+    private double probability;
+
+    public CampaignPrizeTier(Campaign campaign, LocalDate eventDay, int rank, int limitCount, double probability) {
+        this.campaign = campaign;
+        this.eventDay = eventDay;
+        this.rank = rank;
+        this.limitCount = limitCount;
+        this.probability = probability;
+    }
+}
@@ -0,0 +1,45 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 캠페인/일자/등수별 참여 건수 집계 (prize_rank 0 = 미당첨)
+ * 참여 내역이 저장될 때마다 증가하므로, 통계 조회 시 TB_LMS_EVENT 를 읽지 않습니다.
+ */
+@Entity
+@Table(name = "EVENT_DAILY_STATS", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_daily_stats", columnNames = {"campaign_key", "event_day", "prize_rank"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_key", length = 50, nullable = false)
+    private String campaignKey;
+
+    @Column(name = "event_day", nullable = false)
+    private LocalDate eventDay;
+
+    @Column(name = "prize_rank", nullable = false)
+    private int rank;
+
+    @Column(name = "entries", nullable = false)
+    private long entries;
+
+    public EventDailyStats(String campaignKey, LocalDate eventDay, int rank, long entries) {
+        this.campaignKey = campaignKey;
+        this.eventDay = eventDay;
+        this.rank = rank;
+        this.entries = entries;
+    }
+}
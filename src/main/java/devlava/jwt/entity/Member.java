@@ -22,6 +22,10 @@ public class Member {
     @Column(name = "name")
     private String name;
 
+    // 토큰 버전 - 증가시키면 이전에 발급된 액세스 토큰이 모두 무효화됨
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @OneToMany(mappedBy = "member", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TbLmsEvent> events = new ArrayList<>();
 
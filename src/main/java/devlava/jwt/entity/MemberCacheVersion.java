@@ -0,0 +1,31 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 회원 캐시 버전 (단일 행)
+ * 회원이 변경될 때마다 증가하며, 각 노드는 이 값을 주기적으로 확인하여 로컬 캐시를 비웁니다.
+ */
+@Entity
+@Table(name = "MEMBER_CACHE_VERSION")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MemberCacheVersion {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public MemberCacheVersion(Long id, long version) {
+        this.id = id;
+        this.version = version;
+    }
+}
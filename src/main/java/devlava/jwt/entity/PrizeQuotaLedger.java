@@ -0,0 +1,49 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 캠페인/일자/등수별 당첨 인원 원장
+ * 하나의 등수를 여러 stripe 행으로 나누어 한 행에 잠금이 몰리지 않도록 합니다.
+ * (stripe 별 limit_count 의 합 = 해당 등수의 제한 인원)
+ */
+@Entity
+@Table(name = "PRIZE_QUOTA_LEDGER", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_prize_quota_ledger", columnNames = {"campaign_key", "event_day", "prize_rank", "stripe"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrizeQuotaLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_key", length = 50, nullable = false)
+    private String campaignKey;
+
+    @Column(name = "event_day", nullable = false)
+    private LocalDate eventDay;
+
+    @Column(name = "prize_rank", nullable = false)
+    private int rank;
+
+    @Column(name = "stripe", nullable = false)
+    private int stripe;
+
+    @Column(name = "used", nullable = false)
+    private int used;
+
+    @Column(name = "limit_count", nullable = false)
+    private int limitCount;
+
+    // limit_count 를 정한 캠페인 설정 버전 (CampaignCatalogVersion)
+    @Column(name = "catalog_version", nullable = false)
+    private long catalogVersion;
+}
@@ -0,0 +1,44 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * 폐기된 액세스 토큰 (jti)
+ * 토큰이 만료되면 더 이상 확인할 필요가 없으므로 만료 시각이 지난 행은 삭제됩니다.
+ */
+@Entity
+@Table(name = "REVOKED_ACCESS_TOKEN", indexes = {
+        @Index(name = "uk_revoked_access_token_jti", columnList = "jti", unique = true),
+        @Index(name = "idx_revoked_access_token_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_access_token_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedAccessToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "jti", nullable = false, length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // 폐기 시각 - 다른 노드가 이 시각 기준으로 새 폐기 내역을 읽음
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public RevokedAccessToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+        this.createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,49 @@
+package devlava.jwt.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * JWT 서명 키 (비대칭 서명 모드에서 사용)
+ * 모든 노드가 같은 키 목록을 공유하도록 DB 에 보관합니다.
+ */
+@Entity
+@Table(name = "JWT_SIGNING_KEY", uniqueConstraints = {
+        // 같은 세대의 키는 하나만 - 여러 노드가 동시에 키를 추가해도 한 노드만 성공
+        @UniqueConstraint(name = "uk_jwt_signing_key_generation", columnNames = {"generation"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SigningKey {
+
+    @Id
+    @Column(name = "kid", length = 36)
+    private String kid;
+
+    // 키 세대 (첫 키 0, 교체할 때마다 1 증가)
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
+    @Column(name = "algorithm", nullable = false, length = 10)
+    private String algorithm;
+
+    // X.509 인코딩 공개키 (Base64)
+    @Column(name = "public_key", nullable = false, length = 1024)
+    private String publicKey;
+
+    // PKCS#8 인코딩 개인키 (Base64)
+    @Column(name = "private_key", nullable = false, length = 2048)
+    private String privateKey;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // 이 시각부터 서명에 사용 (그 전에는 JWKS 로만 공개)
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+}
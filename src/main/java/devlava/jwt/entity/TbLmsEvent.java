@@ -3,10 +3,24 @@ package devlava.jwt.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 
 @Entity
-@Table(name = "TB_LMS_EVENT")
+@Table(name = "TB_LMS_EVENT", uniqueConstraints = {
+        // 캠페인별 하루 한 번 참여 (여러 노드에서 동시에 참여해도 한 건만 저장)
+        @UniqueConstraint(name = TbLmsEvent.UK_MEMBER_DAY, columnNames = {"campaign_key", "member_id", "event_day"}),
+        // 캠페인 기간 중 한 번 당첨
+        @UniqueConstraint(name = TbLmsEvent.UK_WINNER, columnNames = {"winner_key"})
+}, indexes = {
+        // 회원별 오늘 참여 내역 조회
+        @Index(name = "idx_lms_event_member_create_dt", columnList = "campaign_key, member_id, CREATE_DT"),
+        // 일자별 등수 집계, 기간별 참여 내역 조회
+        @Index(name = "idx_lms_event_create_dt_rank", columnList = "campaign_key, CREATE_DT, rank"),
+        // 당첨 내역 조회 (H2 는 부분 인덱스를 지원하지 않으므로 draw 를 앞쪽 컬럼으로 둠)
+        @Index(name = "idx_lms_event_draw_member", columnList = "draw, campaign_key, member_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,10 +28,21 @@ import java.util.Date;
 @Builder
 public class TbLmsEvent {
 
+    // 하루 한 번 참여, 한 번 당첨 제약 이름 (중복 참여 판별에 사용)
+    public static final String UK_MEMBER_DAY = "uk_lms_event_member_day";
+    public static final String UK_WINNER = "uk_lms_event_winner";
+
+    // pooled 시퀀스 - ID 를 50개씩 미리 할당받아 INSERT 를 JDBC batch 로 묶을 수 있음 (IDENTITY 는 batch 불가)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tb_lms_event_seq")
+    @SequenceGenerator(name = "tb_lms_event_seq", sequenceName = "TB_LMS_EVENT_SEQ", allocationSize = 50)
     private Long id;
 
+    // 캠페인 키 - 당첨 인원 집계와 참여 내역은 캠페인별로 구분
+    @Builder.Default
+    @Column(name = "campaign_key", length = 50, nullable = false)
+    private String campaignKey = Campaign.DEFAULT_KEY;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
     private Member member;
@@ -32,4 +57,21 @@ public class TbLmsEvent {
     @Column(name = "CREATE_DT", updatable = false)
     private Date createDt;
 
+    // 참여 일자 (CREATE_DT 의 날짜) - 하루 한 번 참여 제약용
+    @Column(name = "event_day", updatable = false)
+    private LocalDate eventDay;
+
+    // 당첨 내역이면 "캠페인:회원 ID", 아니면 null - 캠페인 기간 중 한 번 당첨 제약용 (null 은 중복 허용)
+    @Column(name = "winner_key", length = 100, updatable = false)
+    private String winnerKey;
+
+    @PrePersist
+    void fillConstraintKeys() {
+        if (eventDay == null && createDt != null) {
+            eventDay = createDt.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+        if (draw && member != null) {
+            winnerKey = campaignKey + ":" + member.getId();
+        }
+    }
 }
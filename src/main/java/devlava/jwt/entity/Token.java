@@ -7,7 +7,11 @@ import lombok.Setter;
 import java.time.Instant;
 
 @Entity
-@Table(name = "TOKEN")
+@Table(name = "TOKEN", indexes = {
+        @Index(name = "uk_token_refresh_token_hash", columnList = "refresh_token_hash", unique = true),
+        @Index(name = "idx_token_member_id", columnList = "member_id"),
+        @Index(name = "idx_token_expiry_date", columnList = "expiry_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,13 +20,14 @@ public class Token {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String refreshToken;
+    // 리프레시 토큰 원문 대신 SHA-256 다이제스트(hex 64자)를 저장
+    @Column(name = "refresh_token_hash", length = 64, nullable = false)
+    private String refreshTokenHash;
 
-    @Column(nullable = false)
+    @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
-}
\ No newline at end of file
+}
@@ -1,27 +1,48 @@
 package devlava.jwt.filter;
 
+import devlava.jwt.config.AuthMetrics;
+import devlava.jwt.config.AuthOutcome;
 import devlava.jwt.config.JwtUtils;
+import devlava.jwt.config.JwtUtils.TokenVerification;
+import devlava.jwt.service.AccessTokenDenylist;
+import devlava.jwt.service.TokenVersionService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+            TokenVersionService tokenVersionService, AccessTokenDenylist accessTokenDenylist,
+            AuthMetrics authMetrics, boolean stateless) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.authMetrics = authMetrics;
+        this.stateless = stateless;
     }
 
     @Override
@@ -35,20 +56,74 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        final long filterStart = System.nanoTime();
         final String jwt = authHeader.substring(7);
-        final String username = jwtUtils.extractUsername(jwt);
+        // 서명 검증은 한 번만 수행 (동일 토큰 재요청 시 캐시 사용)
+        final TokenVerification verification = jwtUtils.verify(jwt);
+        authMetrics.recordParse(verification.outcome(), System.nanoTime() - filterStart);
+        authMetrics.recordClaimsCache(verification.cacheHit());
+        if (!verification.cacheHit()) {
+            authMetrics.recordVerify(verification.outcome(), verification.verificationNanos());
+        }
+
+        AuthOutcome outcome = verification.outcome();
+        final Claims claims = verification.claims();
+        final String username = claims != null ? claims.getSubject() : null;
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            if (!isCurrentVersion(claims) || accessTokenDenylist.isRevoked(claims.getId())) {
+                outcome = AuthOutcome.REVOKED;
+            } else {
+                UserDetails userDetails = stateless ? buildUserDetails(claims) : loadUserDetails(username);
 
-            if (jwtUtils.validateToken(jwt)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                } else {
+                    outcome = AuthOutcome.UNKNOWN_USER;
+                }
             }
         }
 
+        authMetrics.recordFilter(outcome, System.nanoTime() - filterStart);
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails loadUserDetails(String username) {
+        long start = System.nanoTime();
+        try {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            authMetrics.recordUserDetailsLoad(AuthOutcome.VALID, System.nanoTime() - start);
+            return userDetails;
+        } catch (UsernameNotFoundException e) {
+            authMetrics.recordUserDetailsLoad(AuthOutcome.UNKNOWN_USER, System.nanoTime() - start);
+            return null;
+        }
+    }
+
+    /**
+     * 폐기된 토큰인지 확인합니다. 버전 정보가 없는 토큰은 회원 ID 를 알 수 없으므로 DB 모드에서만 허용합니다.
+     */
+    private boolean isCurrentVersion(Claims claims) {
+        String memberId = claims.get(JwtUtils.CLAIM_MEMBER_ID, String.class);
+        Integer tokenVersion = claims.get(JwtUtils.CLAIM_TOKEN_VERSION, Integer.class);
+        if (memberId == null || tokenVersion == null) {
+            return !stateless;
+        }
+        return tokenVersionService.isCurrent(memberId, tokenVersion);
+    }
+
+    /**
+     * DB 조회 없이 Claims 만으로 인증 주체를 만듭니다. (username 에는 회원 ID 를 담음)
+     */
+    private UserDetails buildUserDetails(Claims claims) {
+        String memberId = claims.get(JwtUtils.CLAIM_MEMBER_ID, String.class);
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+        List<GrantedAuthority> authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                : List.of();
+        return new User(memberId, "", authorities);
+    }
+}
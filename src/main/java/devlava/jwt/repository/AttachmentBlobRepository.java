@@ -0,0 +1,24 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.AttachmentBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    // 참조 1 증가 (행이 없으면 0 반환)
+    @Modifying
+    @Query("update AttachmentBlob b set b.refCount = b.refCount + 1 where b.checksum = :checksum")
+    int incrementRefCount(@Param("checksum") String checksum);
+
+    // 참조 해제용 - 파일 삭제가 끝날 때까지 다른 노드의 참조 추가를 막음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from AttachmentBlob b where b.checksum = :checksum")
+    Optional<AttachmentBlob> findForUpdate(@Param("checksum") String checksum);
+}
@@ -2,8 +2,16 @@ package devlava.jwt.repository;
 
 import devlava.jwt.entity.BoardRef;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface BoardRefRepository extends JpaRepository<BoardRef, Long> {
-}
\ No newline at end of file
+
+    // 조건부 다운로드용 - 첨부파일 내용의 SHA-256 만 조회
+    @Query("select r.checksum from BoardRef r where r.id = :id")
+    Optional<String> findChecksumById(@Param("id") Long id);
+}
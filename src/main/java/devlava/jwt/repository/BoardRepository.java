@@ -4,9 +4,54 @@ import devlava.jwt.entity.Board;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface BoardRepository extends JpaRepository<Board, Long> {
     Page<Board> findByTitleContainingOrContentContaining(String title, String content, Pageable pageable);
-}
\ No newline at end of file
+
+    // 조건부 조회용 - 게시글 변경 시각과 첨부파일 ID 목록만 조회 (엔티티를 읽지 않음)
+    @Query("""
+                select coalesce(b.updatedAt, b.createdAt) as updatedAt, r.id as attachmentId
+                from Board b left join b.attachments r
+                where b.id = :boardId
+                order by r.id
+            """)
+    List<BoardVersionRow> findVersionRows(@Param("boardId") Long boardId);
+
+    // 검색 색인 생성용 - ID 순으로 나누어 조회
+    @Query("""
+                select b.id as id, b.title as title, b.content as content
+                from Board b
+                where b.id > :afterId
+                order by b.id
+            """)
+    List<SearchDocument> findSearchDocuments(@Param("afterId") long afterId, Pageable pageable);
+
+    // 검색 색인 갱신용 - 지정 시각 이후 생성/수정된 게시글 (@UpdateTimestamp 가 생성 시에도 채우므로 UPDATE_DT 인덱스만 사용)
+    @Query("""
+                select b.id as id, b.title as title, b.content as content
+                from Board b
+                where b.updatedAt >= :since
+            """)
+    List<SearchDocument> findSearchDocumentsChangedSince(@Param("since") LocalDateTime since);
+
+    interface SearchDocument {
+        Long getId();
+
+        String getTitle();
+
+        String getContent();
+    }
+
+    interface BoardVersionRow {
+        LocalDateTime getUpdatedAt();
+
+        Long getAttachmentId();
+    }
+}
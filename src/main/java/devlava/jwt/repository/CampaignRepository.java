@@ -0,0 +1,14 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.Campaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CampaignRepository extends JpaRepository<Campaign, String> {
+
+    // 스냅샷 생성용 - 진행 중인 캠페인과 등수별 당첨 인원을 한 번에 조회
+    @Query("select distinct c from Campaign c left join fetch c.tiers where c.active = true")
+    List<Campaign> findAllActiveWithTiers();
+}
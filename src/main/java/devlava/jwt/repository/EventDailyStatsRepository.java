@@ -0,0 +1,43 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.EventDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EventDailyStatsRepository extends JpaRepository<EventDailyStats, Long> {
+
+    List<EventDailyStats> findByCampaignKeyOrderByEventDayAscRankAsc(String campaignKey);
+
+    // 집계 행이 있으면 증가 (없으면 0 반환 - 호출한 쪽에서 행 생성)
+    @Modifying
+    @Query("""
+                update EventDailyStats s
+                    set s.entries = s.entries + :delta
+                where s.campaignKey = :campaignKey
+                    and s.eventDay = :eventDay
+                    and s.rank = :rank
+            """)
+    int increment(@Param("campaignKey") String campaignKey,
+            @Param("eventDay") LocalDate eventDay,
+            @Param("rank") int rank,
+            @Param("delta") long delta);
+
+    // 참여 내역 건수로 보정 (없으면 0 반환 - 호출한 쪽에서 행 생성)
+    @Modifying
+    @Query("""
+                update EventDailyStats s
+                    set s.entries = :entries
+                where s.campaignKey = :campaignKey
+                    and s.eventDay = :eventDay
+                    and s.rank = :rank
+            """)
+    int overwrite(@Param("campaignKey") String campaignKey,
+            @Param("eventDay") LocalDate eventDay,
+            @Param("rank") int rank,
+            @Param("entries") long entries);
+}
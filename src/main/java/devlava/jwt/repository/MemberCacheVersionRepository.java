@@ -0,0 +1,19 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.MemberCacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface MemberCacheVersionRepository extends JpaRepository<MemberCacheVersion, Long> {
+
+    @Query("SELECT v.version FROM MemberCacheVersion v WHERE v.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE MemberCacheVersion v SET v.version = v.version + 1 WHERE v.id = :id")
+    int incrementVersion(@Param("id") Long id);
+}
@@ -2,9 +2,12 @@ package devlava.jwt.repository;
 
 import devlava.jwt.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, String> {
@@ -15,4 +18,28 @@ public interface MemberRepository extends JpaRepository<Member, String> {
 
     @Query("SELECT m FROM Member m LEFT JOIN FETCH m.role WHERE m.username = :username")
     Optional<Member> findByUsernameWithRole(@Param("username") String username);
+
+    // 일괄 등록 시 청크 단위 중복 확인
+    @Query("SELECT m.id FROM Member m WHERE m.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT m.username FROM Member m WHERE m.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    // 토큰 버전이 올라간(토큰이 폐기된 적 있는) 회원만 조회
+    @Query("SELECT m.id AS id, m.tokenVersion AS tokenVersion FROM Member m WHERE m.tokenVersion > 0")
+    List<MemberTokenVersion> findRevokedTokenVersions();
+
+    @Query("SELECT m.tokenVersion FROM Member m WHERE m.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE Member m SET m.tokenVersion = m.tokenVersion + 1 WHERE m.id = :id")
+    int incrementTokenVersion(@Param("id") String id);
+
+    interface MemberTokenVersion {
+        String getId();
+
+        int getTokenVersion();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.PrizeQuotaLedger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PrizeQuotaLedgerRepository extends JpaRepository<PrizeQuotaLedger, Long> {
+
+    long countByCampaignKeyAndEventDayAndRank(String campaignKey, LocalDate eventDay, int rank);
+
+    // 원장 크기 조정용 - 해당 등수의 stripe 행을 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+                select l from PrizeQuotaLedger l
+                where l.campaignKey = :campaignKey
+                    and l.eventDay = :eventDay
+                    and l.rank = :rank
+                order by l.stripe
+            """)
+    List<PrizeQuotaLedger> findForUpdate(@Param("campaignKey") String campaignKey,
+            @Param("eventDay") LocalDate eventDay,
+            @Param("rank") int rank);
+
+    // 남은 인원이 있을 때만 1 증가 (SELECT 없이 한 번의 UPDATE 로 확보)
+    @Modifying
+    @Query("""
+                update PrizeQuotaLedger l
+                    set l.used = l.used + 1
+                where l.campaignKey = :campaignKey
+                    and l.eventDay = :eventDay
+                    and l.rank = :rank
+                    and l.stripe = :stripe
+                    and l.used < l.limitCount
+            """)
+    int claim(@Param("campaignKey") String campaignKey,
+            @Param("eventDay") LocalDate eventDay,
+            @Param("rank") int rank,
+            @Param("stripe") int stripe);
+
+    // 원장 동기화용 - 등수별 사용 인원 합
+    @Query("""
+                select l.rank as rank, sum(l.used) as used from PrizeQuotaLedger l
+                where l.campaignKey = :campaignKey
+                    and l.eventDay = :eventDay
+                group by l.rank
+            """)
+    List<RankUsage> sumUsedGroupByRank(@Param("campaignKey") String campaignKey,
+            @Param("eventDay") LocalDate eventDay);
+
+    interface RankUsage {
+        int getRank();
+
+        long getUsed();
+    }
+}
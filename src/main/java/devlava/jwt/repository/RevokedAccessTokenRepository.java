@@ -0,0 +1,24 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, Long> {
+
+    boolean existsByJti(String jti);
+
+    // since 이후 폐기된 토큰 중 아직 만료되지 않은 토큰 (다른 노드에서 추가된 폐기 내역 반영용)
+    List<RevokedAccessToken> findByCreatedAtGreaterThanEqualAndExpiresAtAfter(Instant since, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedAccessToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
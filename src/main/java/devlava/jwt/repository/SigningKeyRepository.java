@@ -0,0 +1,11 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findAllByOrderByActivatesAtAsc();
+}
@@ -1,13 +1,20 @@
 package devlava.jwt.repository;
 
+import devlava.jwt.dto.EventHistoryResponse;
 import devlava.jwt.entity.TbLmsEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TbLmsEventRepository extends JpaRepository<TbLmsEvent, Long> {
 
@@ -44,7 +51,144 @@ public interface TbLmsEventRepository extends JpaRepository<TbLmsEvent, Long> {
             @Param("endDate") Date endDate,
             @Param("rank") int rank);
 
-    // 특정 기간의 이벤트 참여 내역 조회 (생성일시 기준 내림차순)
-    @Query("SELECT e FROM TbLmsEvent e JOIN FETCH e.member WHERE e.createDt BETWEEN :startDt AND :endDt ORDER BY e.createDt DESC")
-    List<TbLmsEvent> findEventHistoryByDateRange(@Param("startDt") Date startDt, @Param("endDt") Date endDt);
+    // 캠페인의 당일 등수별 인원 수를 한 번에 조회 (당첨자가 없는 등수는 결과에 없음)
+    @Query("""
+                select e.rank as rank, count(e) as count from TbLmsEvent e
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDate
+                    and e.createDt < :endDate
+                    and e.rank > 0
+                group by e.rank
+            """)
+    List<RankCount> countByCreateDtBetweenGroupByRank(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
+
+    // 통계 집계 보정용 - 캠페인의 기간 내 일자/등수별 참여 건수 (미당첨 포함)
+    @Query("""
+                select e.eventDay as eventDay, e.rank as rank, count(e) as count from TbLmsEvent e
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDate
+                    and e.createDt < :endDate
+                group by e.eventDay, e.rank
+            """)
+    List<DayRankCount> countByCreateDtBetweenGroupByDayAndRank(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
+
+    // 참여 인덱스 초기화용 - 전체 당첨자 (Member 를 읽지 않고 FK 만 조회)
+    @Query("""
+                select e.campaignKey as campaignKey, e.member.id as memberId, e.rank as rank
+                from TbLmsEvent e
+                where e.draw = true
+            """)
+    List<WinnerProjection> findAllWinners();
+
+    // 참여 인덱스 초기화용 - 캠페인의 기간 내 참여한 회원 ID
+    @Query("""
+                select distinct e.member.id from TbLmsEvent e
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDate
+                    and e.createDt < :endDate
+            """)
+    List<String> findParticipantIds(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
+
+    // 참여 인덱스 갱신용 - 캠페인의 since 이후 참여 내역 (다른 노드에서 저장된 참여 반영)
+    @Query("""
+                select e.member.id as memberId, e.draw as draw, e.rank as rank, e.createDt as createDt
+                from TbLmsEvent e
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :since
+            """)
+    List<ParticipationProjection> findParticipationsSince(
+            @Param("campaignKey") String campaignKey,
+            @Param("since") Date since);
+
+    interface RankCount {
+        int getRank();
+
+        long getCount();
+    }
+
+    interface DayRankCount {
+        LocalDate getEventDay();
+
+        int getRank();
+
+        long getCount();
+    }
+
+    interface WinnerProjection {
+        String getCampaignKey();
+
+        String getMemberId();
+
+        int getRank();
+    }
+
+    interface ParticipationProjection {
+        String getMemberId();
+
+        boolean isDraw();
+
+        int getRank();
+
+        Date getCreateDt();
+    }
+
+    // 참여 내역 첫 페이지 (생성일시, ID 내림차순)
+    @Query("""
+                select new devlava.jwt.dto.EventHistoryResponse(e.id, m.id, m.username, e.draw, e.rank, e.createDt)
+                from TbLmsEvent e join e.member m
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDt
+                    and e.createDt < :endDt
+                order by e.createDt desc, e.id desc
+            """)
+    List<EventHistoryResponse> findHistoryFirstPage(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDt") Date startDt,
+            @Param("endDt") Date endDt,
+            Pageable pageable);
+
+    // 참여 내역 다음 페이지 - 직전 페이지 마지막 행 (cursorDt, cursorId) 이후부터 조회 (keyset)
+    @Query("""
+                select new devlava.jwt.dto.EventHistoryResponse(e.id, m.id, m.username, e.draw, e.rank, e.createDt)
+                from TbLmsEvent e join e.member m
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDt
+                    and e.createDt < :endDt
+                    and (e.createDt < :cursorDt or (e.createDt = :cursorDt and e.id < :cursorId))
+                order by e.createDt desc, e.id desc
+            """)
+    List<EventHistoryResponse> findHistoryPageAfter(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDt") Date startDt,
+            @Param("endDt") Date endDt,
+            @Param("cursorDt") Date cursorDt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    // 참여 내역 전체 내보내기 - 엔티티 대신 DTO 로 읽고 fetch size 단위로 커서를 이동 (트랜잭션 안에서 사용 후 close)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                select new devlava.jwt.dto.EventHistoryResponse(e.id, m.id, m.username, e.draw, e.rank, e.createDt)
+                from TbLmsEvent e join e.member m
+                where e.campaignKey = :campaignKey
+                    and e.createDt >= :startDt
+                    and e.createDt < :endDt
+                order by e.createDt desc, e.id desc
+            """)
+    Stream<EventHistoryResponse> streamHistory(
+            @Param("campaignKey") String campaignKey,
+            @Param("startDt") Date startDt,
+            @Param("endDt") Date endDt);
 }
@@ -1,19 +1,34 @@
 package devlava.jwt.repository;
 
 import devlava.jwt.entity.Token;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface TokenRepository extends JpaRepository<Token, Long> {
-    @Query("SELECT t FROM Token t JOIN FETCH t.member m LEFT JOIN FETCH m.role WHERE t.refreshToken = :refreshToken")
-    Optional<Token> findByRefreshTokenWithMemberAndRole(@Param("refreshToken") String refreshToken);
+    @Query("SELECT t FROM Token t JOIN FETCH t.member m LEFT JOIN FETCH m.role WHERE t.refreshTokenHash = :refreshTokenHash")
+    Optional<Token> findByRefreshTokenHashWithMemberAndRole(@Param("refreshTokenHash") String refreshTokenHash);
 
-    Optional<Token> findByRefreshToken(String refreshToken);
+    Optional<Token> findByRefreshTokenHash(String refreshTokenHash);
 
     Optional<Token> findByMemberId(String memberId);
 
-    void deleteByMemberId(String memberId);
-}
\ No newline at end of file
+    // 엔티티를 읽지 않고 member_id 인덱스로 바로 삭제
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.member.id = :memberId")
+    void deleteByMemberId(@Param("memberId") String memberId);
+
+    // 만료된 토큰 ID 를 expiry_date 인덱스로 일정 개수만 조회
+    @Query("SELECT t.id FROM Token t WHERE t.expiryDate < :now ORDER BY t.expiryDate")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
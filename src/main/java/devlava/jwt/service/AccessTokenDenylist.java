@@ -0,0 +1,126 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.RevokedAccessToken;
+import devlava.jwt.repository.RevokedAccessTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 폐기된 액세스 토큰(jti) 목록
+ * - 요청마다 메모리의 Bloom filter 만 확인하고, Bloom filter 가 "있을 수도 있음"이라고 할 때만 DB 를 조회합니다.
+ * - Bloom filter 는 액세스 토큰 유효 시간마다 세대를 교체하므로 만료된 토큰은 자동으로 빠집니다.
+ * - 다른 노드에서 폐기한 토큰은 poll-interval 마다 DB 에서 읽어 Bloom filter 에 추가합니다.
+ *   ID 순서와 커밋 순서가 다를 수 있으므로 ID 가 아니라 폐기 시각 기준으로, 직전 확인 시각보다 조금 앞부터 겹쳐 읽습니다.
+ */
+@Service
+public class AccessTokenDenylist {
+
+    // 늦게 커밋된 폐기 내역과 노드 간 시각 차이를 놓치지 않도록 겹쳐 읽는 구간
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${jwt.denylist.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.denylist.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // 현재 세대와 직전 세대 - 두 세대를 모두 확인
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotatedAt;
+
+    // 마지막으로 DB 와 맞춘 시각
+    private volatile Instant syncedAt = Instant.EPOCH;
+
+    // 겹쳐 읽는 구간 안에서 이미 반영한 jti -> 폐기 시각 (같은 행을 다시 반영하지 않음)
+    private final Map<String, Instant> recentlySynced = new ConcurrentHashMap<>();
+
+    public AccessTokenDenylist(RevokedAccessTokenRepository revokedAccessTokenRepository) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.current = newFilter();
+        this.previous = newFilter();
+        this.rotatedAt = System.currentTimeMillis();
+        syncFromDatabase();
+    }
+
+    /**
+     * 폐기된 토큰인지 확인합니다. Bloom filter 에 없으면 DB 를 조회하지 않습니다.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!current.mightContain(jti) && !previous.mightContain(jti)) {
+            return false;
+        }
+        return revokedAccessTokenRepository.existsByJti(jti);
+    }
+
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt.isBefore(Instant.now())) {
+            return;
+        }
+        if (!revokedAccessTokenRepository.existsByJti(jti)) {
+            try {
+                revokedAccessTokenRepository.save(new RevokedAccessToken(jti, expiresAt));
+            } catch (DataIntegrityViolationException e) {
+                // 동시에 같은 토큰을 폐기한 경우
+            }
+        }
+        current.put(jti);
+    }
+
+    /**
+     * 다른 노드의 폐기 내역을 반영하고, 토큰 유효 시간이 지나면 Bloom filter 세대를 교체합니다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.poll-interval:5000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - rotatedAt >= jwtExpiration) {
+            // 직전 세대에만 있던 항목은 모두 만료된 토큰
+            previous = current;
+            current = newFilter();
+            rotatedAt = now;
+            revokedAccessTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        }
+        syncFromDatabase();
+    }
+
+    private void syncFromDatabase() {
+        Instant startedAt = Instant.now();
+        Instant since = syncedAt.minus(SYNC_OVERLAP);
+        recentlySynced.values().removeIf(createdAt -> createdAt.isBefore(since));
+
+        for (RevokedAccessToken token : revokedAccessTokenRepository
+                .findByCreatedAtGreaterThanEqualAndExpiresAtAfter(since, startedAt)) {
+            if (recentlySynced.putIfAbsent(token.getJti(), token.getCreatedAt()) == null) {
+                current.put(token.getJti());
+            }
+        }
+        syncedAt = startedAt;
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+}
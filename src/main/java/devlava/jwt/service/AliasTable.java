@@ -0,0 +1,90 @@
+package devlava.jwt.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * 가중치 추첨용 alias 테이블 (Vose 의 alias method)
+ * 생성 시 O(n) 으로 표를 만들어 두면, 추첨은 난수 두 개와 배열 접근만으로 O(1) 에 끝납니다.
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasTable(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * 결과별 가중치로 표를 만듭니다. 가중치는 음수가 아니어야 하며 합이 1 일 필요는 없습니다.
+     */
+    public static AliasTable of(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("가중치가 없습니다.");
+        }
+
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("가중치는 0 이상이어야 합니다.");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("가중치의 합이 0 입니다.");
+        }
+
+        // 평균이 1 이 되도록 조정한 뒤 1 보다 작은 칸(small)을 큰 칸(large)으로 채움
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // 부동소수점 오차로 남은 칸은 자기 자신으로 확정
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+
+        return new AliasTable(probability, alias);
+    }
+
+    /**
+     * 가중치에 비례하여 결과 index 하나를 뽑습니다.
+     */
+    public int sample(SplittableRandom random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
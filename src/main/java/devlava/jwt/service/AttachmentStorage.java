@@ -0,0 +1,197 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.AttachmentBlob;
+import devlava.jwt.repository.AttachmentBlobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 첨부파일을 내용(SHA-256) 기준으로 한 번만 저장합니다. ({upload.path}/blobs/{digest 앞 2자리}/{digest})
+ * - 업로드는 고정 크기 버퍼로 임시 파일에 쓰면서 다이제스트를 계산하고, 처음 보는 내용일 때만 blob 경로로 옮깁니다.
+ * - 참조 수는 ATTACHMENT_BLOB.ref_count 로 관리하며, 추가/해제는 각각 짧은 트랜잭션 하나로 바로 반영합니다.
+ *   마지막 참조가 해제되면 행 잠금을 잡은 채로 파일을 삭제합니다.
+ * - 게시글 트랜잭션 안에서 호출하면 연결을 하나 더 사용하므로 (업로드 N건이면 2N) 트랜잭션 밖에서만 호출할 수 있습니다.
+ *   게시글 저장이 실패하면 호출한 쪽에서 추가한 참조를 release 로 되돌립니다.
+ */
+@Slf4j
+@Service
+public class AttachmentStorage {
+
+    // 업로드 1건당 사용하는 복사 버퍼 크기 (파일 크기와 무관하게 고정)
+    private static final int UPLOAD_BUFFER_SIZE = 64 * 1024;
+
+    public record StoredBlob(String checksum, long size, Path path) {
+    }
+
+    private final AttachmentBlobRepository blobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path blobRoot;
+    private final Path tempDir;
+
+    public AttachmentStorage(AttachmentBlobRepository blobRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${file.upload.path}") String uploadPath) {
+        this.blobRepository = blobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blobRoot = Paths.get(uploadPath, "blobs").toAbsolutePath().normalize();
+        // 원자적 이동을 위해 blob 과 같은 파일시스템에 둠
+        this.tempDir = blobRoot.resolve("tmp");
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(tempDir);
+    }
+
+    /**
+     * 업로드 파일을 저장하고 해당 blob 의 참조를 하나 늘립니다. 같은 내용이 이미 있으면 새로 저장하지 않습니다.
+     */
+    public StoredBlob store(MultipartFile file) {
+        assertNoTransaction();
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(tempDir, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(UPLOAD_BUFFER_SIZE);
+            long size = 0;
+
+            try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                    FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            acquire(checksum, size, tempFile);
+            return new StoredBlob(checksum, size, pathOf(checksum));
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * blob 참조를 하나 줄입니다. 마지막 참조였으면 파일을 삭제합니다.
+     * 실패해도 참조가 남아 파일이 지워지지 않을 뿐이므로 예외를 던지지 않습니다.
+     */
+    public void release(String checksum) {
+        assertNoTransaction();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    blobRepository.findForUpdate(checksum).ifPresent(blob -> {
+                        if (blob.getRefCount() > 1) {
+                            blob.setRefCount(blob.getRefCount() - 1);
+                            return;
+                        }
+                        // 잠금을 잡은 채로 파일부터 삭제 (이후 같은 내용이 올라오면 새로 저장)
+                        try {
+                            Files.deleteIfExists(pathOf(checksum));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        blobRepository.delete(blob);
+                    }));
+        } catch (RuntimeException e) {
+            log.warn("첨부파일 참조 해제 실패 - {}", checksum, e);
+        }
+    }
+
+    /**
+     * blob 저장소에 있는 파일이면 true 입니다. (false 면 게시글 폴더에 개별 저장된 이전 방식의 파일)
+     */
+    public boolean isManaged(Path path) {
+        return path.toAbsolutePath().normalize().startsWith(blobRoot);
+    }
+
+    public Path pathOf(String checksum) {
+        return blobRoot.resolve(checksum.substring(0, 2)).resolve(checksum);
+    }
+
+    private void acquire(String checksum, long size, Path tempFile) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> acquireInTransaction(checksum, size, tempFile));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 내용이 동시에 처음 올라와 다른 요청이 먼저 행을 만든 경우 - 그 행에 참조 추가
+            transactionTemplate.executeWithoutResult(status -> acquireInTransaction(checksum, size, tempFile));
+        }
+    }
+
+    private void acquireInTransaction(String checksum, long size, Path tempFile) {
+        // UPDATE 로 행 잠금을 먼저 잡으므로 파일을 놓는 동안 마지막 참조 해제(파일 삭제)가 끼어들지 않음
+        boolean exists = blobRepository.incrementRefCount(checksum) == 1;
+        placeFile(tempFile, pathOf(checksum));
+        if (!exists) {
+            blobRepository.saveAndFlush(AttachmentBlob.builder()
+                    .checksum(checksum)
+                    .fileSize(size)
+                    .refCount(1)
+                    .build());
+        }
+    }
+
+    /**
+     * blob 파일이 없으면 임시 파일을 옮겨 둡니다. 내용이 같으므로 이미 있으면 그대로 사용합니다.
+     */
+    private void placeFile(Path tempFile, Path target) {
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 같은 내용을 옮긴 경우
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void assertNoTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("첨부파일 참조는 트랜잭션 밖에서 변경해야 합니다.");
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 파일 정리 실패는 무시
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package devlava.jwt.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 게시글 검색용 bigram 분리기
+ * 글자/숫자가 이어진 구간을 단어로 보고 인접한 두 글자씩 나누므로, 형태소 분석 없이 한글 부분 일치 검색이 가능합니다.
+ * (예: "게시판검색" -> 게시, 시판, 판검, 검색)
+ */
+final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 색인할 bigram 과 등장 횟수를 반환합니다. 한 글자 단어는 색인하지 않습니다.
+     */
+    static Map<String, Integer> documentTerms(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String word : words(text)) {
+            for (int i = 0; i < word.length() - 1; i++) {
+                terms.merge(word.substring(i, i + 2), 1, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 검색어의 bigram 을 반환합니다. 색인으로 찾을 수 없는 검색어 (단어가 없거나 한 글자 단어 포함) 면 null 입니다.
+     */
+    static Set<String> queryTerms(String text) {
+        List<String> words = words(text);
+        if (words.isEmpty()) {
+            return null;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word.length() < 2) {
+                return null;
+            }
+            for (int i = 0; i < word.length() - 1; i++) {
+                terms.add(word.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 정규화한 단어를 공백 하나로 이어 붙인 문자열을 반환합니다.
+     * 검색어 단어가 이 문자열에 포함되면 그 단어가 문서의 한 단어 안에 연속으로 있다는 뜻입니다. (bigram 후보 확인용)
+     */
+    static String normalizedText(String text) {
+        return String.join(" ", words(text));
+    }
+
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        // 전각/반각, 대소문자 차이 제거
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,237 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.BoardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시글 제목/내용 검색용 메모리 역색인 (bigram)
+ * - 검색어의 모든 bigram 이 들어 있는 게시글을 찾고, 빈도 x IDF (제목 가중치 3배) 순으로 정렬합니다.
+ *   bigram 이 모두 있어도 서로 떨어져 있을 수 있으므로 ("시판" + "판검" 이 "게시판 판검사" 에 따로 있는 경우)
+ *   후보마다 보관한 정규화 본문에 검색어 단어가 그대로 있는지 확인합니다.
+ * - 시작 시 별도 스레드에서 ID 구간별로 병렬 생성하며, 준비되기 전에는 기존 LIKE 검색을 사용합니다.
+ * - 저장/수정이 커밋되면 해당 게시글만 다시 색인하고, 다른 노드의 변경은 refresh-interval 마다 수정 시각으로 찾아 반영합니다.
+ */
+@Slf4j
+@Service
+public class BoardSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // 커밋이 늦은 트랜잭션의 수정 시각을 놓치지 않도록 겹쳐서 조회하는 시간
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(10);
+
+    public record SearchResult(List<Long> boardIds, long total) {
+    }
+
+    private record ScoredBoard(Long boardId, double score) {
+    }
+
+    // 색인된 게시글 - bigram 별 가중 빈도와 후보 확인용 정규화 제목/내용
+    private record IndexedDocument(Map<String, Integer> terms, String text) {
+    }
+
+    private final BoardRepository boardRepository;
+
+    // bigram -> (게시글 ID -> 가중 빈도)
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+
+    // 게시글 ID -> 색인 내용, 다시 색인할 때 이전 bigram 을 지우고 검색 후보를 확인하기 위해 보관
+    private final Map<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshedAt;
+
+    public BoardSearchIndex(BoardRepository boardRepository) {
+        this.boardRepository = boardRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "board-search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 전체 게시글을 색인합니다. 그 사이 커밋된 저장/수정이 먼저 색인되었으면 그 내용을 유지합니다.
+     */
+    void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        try {
+            long lastId = 0;
+            while (true) {
+                List<BoardRepository.SearchDocument> batch = boardRepository.findSearchDocuments(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                batch.parallelStream().forEach(document -> replace(document.getId(),
+                        toIndexedDocument(document.getTitle(), document.getContent()), false));
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            refreshedAt = startedAt;
+            ready = true;
+            log.info("게시글 검색 색인 생성 완료 - 게시글 {}건, bigram {}개, {}ms", documents.size(), postings.size(),
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        } catch (RuntimeException e) {
+            log.error("게시글 검색 색인 생성 실패 - LIKE 검색을 계속 사용합니다.", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${board.search.refresh-interval:5000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        for (BoardRepository.SearchDocument document : boardRepository
+                .findSearchDocumentsChangedSince(refreshedAt.minus(REFRESH_OVERLAP))) {
+            index(document.getId(), document.getTitle(), document.getContent());
+        }
+        refreshedAt = startedAt;
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 게시글을 다시 색인합니다. 트랜잭션 밖이면 바로 색인합니다.
+     */
+    public void indexOnCommit(Long boardId, String title, String content) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(boardId, title, content);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(boardId, title, content);
+            }
+        });
+    }
+
+    public void index(Long boardId, String title, String content) {
+        replace(boardId, toIndexedDocument(title, content), true);
+    }
+
+    /**
+     * 검색어의 모든 bigram 을 포함하는 게시글 중 점수 순으로 offset 부터 size 건의 ID 와 전체 건수를 반환합니다.
+     * 색인이 준비되지 않았거나 색인으로 찾을 수 없는 검색어 (한 글자 단어 등) 면 null 입니다.
+     */
+    public SearchResult search(String keyword, long offset, int size) {
+        if (!ready) {
+            return null;
+        }
+        Set<String> terms = BigramTokenizer.queryTerms(keyword);
+        if (terms == null) {
+            return null;
+        }
+
+        List<Map<Long, Integer>> postingLists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Integer> postingList = postings.get(term);
+            if (postingList == null) {
+                return new SearchResult(List.of(), 0);
+            }
+            postingLists.add(postingList);
+        }
+        // 가장 짧은 목록을 기준으로 나머지에 모두 있는지 확인
+        postingLists.sort(Comparator.comparingInt(Map::size));
+
+        double documentCount = Math.max(1, documents.size());
+        double[] idf = new double[postingLists.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = Math.log(1 + documentCount / Math.max(1, postingLists.get(i).size()));
+        }
+
+        List<String> queryWords = BigramTokenizer.words(keyword);
+        List<ScoredBoard> hits = new ArrayList<>();
+        candidates:
+        for (Map.Entry<Long, Integer> entry : postingLists.get(0).entrySet()) {
+            double score = entry.getValue() * idf[0];
+            for (int i = 1; i < postingLists.size(); i++) {
+                Integer weight = postingLists.get(i).get(entry.getKey());
+                if (weight == null) {
+                    continue candidates;
+                }
+                score += weight * idf[i];
+            }
+            if (!containsAll(documents.get(entry.getKey()), queryWords)) {
+                continue;
+            }
+            hits.add(new ScoredBoard(entry.getKey(), score));
+        }
+
+        // 점수가 같으면 최신 게시글 먼저
+        hits.sort(Comparator.comparingDouble(ScoredBoard::score).reversed()
+                .thenComparing(ScoredBoard::boardId, Comparator.reverseOrder()));
+        List<Long> boardIds = hits.stream()
+                .skip(offset)
+                .limit(size)
+                .map(ScoredBoard::boardId)
+                .toList();
+        return new SearchResult(boardIds, hits.size());
+    }
+
+    private IndexedDocument toIndexedDocument(String title, String content) {
+        Map<String, Integer> terms = BigramTokenizer.documentTerms(content);
+        BigramTokenizer.documentTerms(title)
+                .forEach((term, count) -> terms.merge(term, count * TITLE_WEIGHT, Integer::sum));
+        // 제목과 내용 사이에 구분 문자를 두어 제목 끝과 내용 시작이 이어져 보이지 않도록 함
+        String text = BigramTokenizer.normalizedText(title) + "\n" + BigramTokenizer.normalizedText(content);
+        return new IndexedDocument(terms, text);
+    }
+
+    /**
+     * 검색어의 각 단어가 게시글의 한 단어 안에 연속으로 있으면 true 입니다. (검색 중 다시 색인되어 없어졌으면 false)
+     */
+    private static boolean containsAll(IndexedDocument document, List<String> queryWords) {
+        if (document == null) {
+            return false;
+        }
+        for (String word : queryWords) {
+            if (!document.text().contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 게시글의 bigram 을 교체합니다. overwrite 가 false 면 이미 색인된 게시글은 그대로 둡니다.
+     */
+    private void replace(Long boardId, IndexedDocument document, boolean overwrite) {
+        documents.compute(boardId, (id, previous) -> {
+            if (previous != null && !overwrite) {
+                return previous;
+            }
+            if (previous != null) {
+                previous.terms().keySet().forEach(term -> postings.computeIfPresent(term, (key, postingList) -> {
+                    postingList.remove(id);
+                    return postingList.isEmpty() ? null : postingList;
+                }));
+            }
+            document.terms().forEach((term, weight) -> postings.compute(term, (key, postingList) -> {
+                Map<Long, Integer> result = postingList != null ? postingList : new ConcurrentHashMap<>();
+                result.put(id, weight);
+                return result;
+            }));
+            return document;
+        });
+    }
+}
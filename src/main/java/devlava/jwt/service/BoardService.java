@@ -9,24 +9,31 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +42,13 @@ public class BoardService {
 
     private final BoardRepository boardRepository;
     private final BoardRefRepository boardRefRepository;
+    private final AttachmentStorage attachmentStorage;
+    private final BoardSearchIndex boardSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    // blob 저장소에 먼저 저장한 업로드 파일
+    private record StagedFile(MultipartFile file, AttachmentStorage.StoredBlob blob) {
+    }
 
     @Value("${file.upload.path}")
     private String uploadPath;
@@ -48,34 +62,84 @@ public class BoardService {
             throw new RuntimeException("비디오 링크는 다운로드할 수 없습니다.");
         }
 
-        try {
-            Path filePath = Paths.get(boardRef.getFileUrl());
-            Resource resource = new UrlResource(filePath.toUri());
+        Path filePath = Paths.get(boardRef.getFileUrl());
+        if (!Files.isReadable(filePath)) {
+            throw new RuntimeException("파일을 읽을 수 없습니다.");
+        }
 
-            if (resource.exists() || resource.isReadable()) {
-                return FileDownloadDto.builder()
-                        .resource(resource)
-                        .originalFileName(boardRef.getOriginalFileName())
-                        .build();
-            } else {
-                throw new RuntimeException("파일을 읽을 수 없습니다.");
-            }
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("파일을 찾을 수 없습니다.", e);
+        try {
+            return FileDownloadDto.builder()
+                    .filePath(filePath)
+                    .fileSize(Files.size(filePath))
+                    .lastModified(Files.getLastModifiedTime(filePath).toMillis())
+                    .checksum(boardRef.getChecksum())
+                    .fileType(boardRef.getFileType())
+                    .originalFileName(boardRef.getOriginalFileName())
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("파일을 읽을 수 없습니다.", e);
         }
     }
 
     @Getter
     @Builder
     public static class FileDownloadDto {
-        private final Resource resource;
+        private final Path filePath;
+        private final long fileSize;
+        private final long lastModified;
+        private final String checksum; // SHA-256 (이전에 업로드된 파일은 null)
+        private final String fileType;
         private final String originalFileName;
     }
 
+    public record BoardVersion(String etag, long lastModified) {
+    }
+
+    /**
+     * 게시글의 ETag 와 Last-Modified 를 반환합니다.
+     * 변경 시각과 첨부파일 ID 목록으로 만들며, 게시글/첨부파일 엔티티는 읽지 않습니다.
+     */
+    @Transactional(readOnly = true)
+    public BoardVersion getBoardVersion(Long boardId) {
+        List<BoardRepository.BoardVersionRow> rows = boardRepository.findVersionRows(boardId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("게시글을 찾을 수 없습니다.");
+        }
+
+        LocalDateTime updatedAt = rows.get(0).getUpdatedAt();
+        StringBuilder version = new StringBuilder().append(boardId).append(':').append(updatedAt);
+        for (BoardRepository.BoardVersionRow row : rows) {
+            if (row.getAttachmentId() != null) {
+                version.append(',').append(row.getAttachmentId());
+            }
+        }
+
+        String etag = "\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        long lastModified = updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new BoardVersion(etag, lastModified);
+    }
+
+    /**
+     * 첨부파일 내용의 ETag 를 반환합니다. 파일을 열지 않으며, 체크섬이 없는 이전 파일은 null 입니다.
+     */
+    @Transactional(readOnly = true)
+    public String getFileEtag(Long fileId) {
+        return boardRefRepository.findChecksumById(fileId)
+                .map(checksum -> "\"" + checksum + "\"")
+                .orElse(null);
+    }
+
     @Transactional(readOnly = true)
     public Page<BoardDto> getBoards(String searchKeyword, Pageable pageable) {
         Page<Board> boardPage;
         if (StringUtils.hasText(searchKeyword)) {
+            // 색인 검색 (점수 순), 색인으로 찾을 수 없으면 LIKE 검색
+            BoardSearchIndex.SearchResult result = boardSearchIndex.search(searchKeyword, pageable.getOffset(),
+                    pageable.getPageSize());
+            if (result != null) {
+                return new PageImpl<>(findBoardsInOrder(result.boardIds()), pageable, result.total())
+                        .map(this::convertToDto);
+            }
             boardPage = boardRepository.findByTitleContainingOrContentContaining(searchKeyword, searchKeyword,
                     pageable);
         } else {
@@ -84,107 +148,126 @@ public class BoardService {
         return boardPage.map(this::convertToDto);
     }
 
-    public BoardDto saveBoard(List<MultipartFile> files, BoardDto boardDto) {
-        // 1. Board 엔티티 생성 및 저장
-        Board board = Board.builder()
-                .title(boardDto.getTitle())
-                .content(boardDto.getContent())
-                .attachments(new ArrayList<>())
-                .build();
+    private List<Board> findBoardsInOrder(List<Long> boardIds) {
+        Map<Long, Board> boards = boardRepository.findAllById(boardIds).stream()
+                .collect(Collectors.toMap(Board::getId, Function.identity()));
+        return boardIds.stream()
+                .map(boards::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
 
-        board = boardRepository.save(board); // 먼저 저장하여 ID 생성
+    /**
+     * 첨부파일은 게시글 트랜잭션 밖에서 먼저 저장하고 (업로드를 읽는 동안 DB 연결을 잡지 않음),
+     * 게시글 저장이 실패하면 추가한 첨부파일 참조를 되돌립니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BoardDto saveBoard(List<MultipartFile> files, BoardDto boardDto) {
+        List<StagedFile> stagedFiles = stageFiles(files);
+        try {
+            return transactionTemplate.execute(status -> {
+                // 1. Board 엔티티 생성 및 저장
+                Board board = Board.builder()
+                        .title(boardDto.getTitle())
+                        .content(boardDto.getContent())
+                        .attachments(new ArrayList<>())
+                        .build();
 
-        // 2. 게시글 ID 기준으로 폴더 생성
-        String boardUploadPath = createBoardUploadPath(board.getId());
+                board = boardRepository.save(board); // 먼저 저장하여 ID 생성
 
-        // 3. 파일 처리 및 BoardRef 엔티티 생성
-        if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    String fileType = determineFileType(file.getOriginalFilename());
-                    BoardRef fileRef = createBoardRef(file, fileType, board, boardUploadPath);
-                    board.getAttachments().add(fileRef);
+                // 2. BoardRef 엔티티 생성 (같은 내용의 파일은 한 번만 저장됨)
+                for (StagedFile stagedFile : stagedFiles) {
+                    board.getAttachments().add(createBoardRef(stagedFile, board));
                 }
-            }
-        }
 
-        // 4. 비디오 링크 처리
-        if (boardDto.getLinks() != null && !boardDto.getLinks().isEmpty()) {
-            for (String link : boardDto.getLinks()) {
-                BoardRef videoRef = BoardRef.builder()
-                        .board(board)
-                        .fileType("VIDEO_LINK")
-                        .fileUrl(link)
-                        .originalFileName(link)
-                        .storedFileName(link)
-                        .build();
-                board.getAttachments().add(videoRef);
-            }
-        }
+                // 3. 비디오 링크 처리
+                if (boardDto.getLinks() != null && !boardDto.getLinks().isEmpty()) {
+                    for (String link : boardDto.getLinks()) {
+                        BoardRef videoRef = BoardRef.builder()
+                                .board(board)
+                                .fileType("VIDEO_LINK")
+                                .fileUrl(link)
+                                .originalFileName(link)
+                                .storedFileName(link)
+                                .build();
+                        board.getAttachments().add(videoRef);
+                    }
+                }
 
-        // 5. 첨부파일 정보 저장
-        board = boardRepository.save(board);
+                // 4. 첨부파일 정보 저장
+                board = boardRepository.save(board);
+                boardSearchIndex.indexOnCommit(board.getId(), board.getTitle(), board.getContent());
 
-        return convertToDto(board);
+                return convertToDto(board);
+            });
+        } catch (RuntimeException e) {
+            releaseAll(stagedFiles);
+            throw e;
+        }
     }
 
-    @Transactional
+    /**
+     * 새 첨부파일은 게시글 트랜잭션 전에 저장하고, 삭제한 첨부파일의 참조는 커밋된 뒤 해제합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BoardDto updateBoard(List<MultipartFile> files, BoardDto boardDto) {
+        List<StagedFile> stagedFiles = new ArrayList<>();
         try {
-            // 1. 기존 게시글 조회
-            Board board = boardRepository.findById(boardDto.getBoardId())
-                    .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
+            stagedFiles.addAll(stageFiles(files));
+            List<String> releasedChecksums = new ArrayList<>();
 
-            // 2. 기본 정보 업데이트 (빈 값이 아닐 경우에만 업데이트)
-            if (StringUtils.hasText(boardDto.getTitle())) {
-                board.setTitle(boardDto.getTitle());
-            }
-            if (StringUtils.hasText(boardDto.getContent())) {
-                board.setContent(boardDto.getContent());
-            }
+            BoardDto updatedBoard = transactionTemplate.execute(status -> {
+                // 1. 기존 게시글 조회
+                Board board = boardRepository.findById(boardDto.getBoardId())
+                        .orElseThrow(() -> new RuntimeException("게시글을 찾을 수 없습니다."));
 
-            // 3. 파일 처리
-            List<Long> remainingFileIds = boardDto.getRemainingFileIds() != null ? boardDto.getRemainingFileIds()
-                    : new ArrayList<>();
-            deleteExistingFiles(board, remainingFileIds);
-
-            // 4. 새로운 파일 추가
-            if (files != null && !files.isEmpty()) {
-                String boardUploadPath = createBoardUploadPath(board.getId());
-                for (MultipartFile file : files) {
-                    if (!file.isEmpty()) {
-                        String fileType = determineFileType(file.getOriginalFilename());
-                        BoardRef fileRef = createBoardRef(file, fileType, board, boardUploadPath);
-                        board.getAttachments().add(fileRef);
-                    }
+                // 2. 기본 정보 업데이트 (빈 값이 아닐 경우에만 업데이트)
+                if (StringUtils.hasText(boardDto.getTitle())) {
+                    board.setTitle(boardDto.getTitle());
                 }
-            }
+                if (StringUtils.hasText(boardDto.getContent())) {
+                    board.setContent(boardDto.getContent());
+                }
+                // 첨부파일만 바뀌어도 변경 시각이 갱신되도록 표시
+                board.setUpdatedAt(LocalDateTime.now());
+
+                // 3. 파일 처리
+                List<Long> remainingFileIds = boardDto.getRemainingFileIds() != null ? boardDto.getRemainingFileIds()
+                        : new ArrayList<>();
+                deleteExistingFiles(board, remainingFileIds, releasedChecksums);
 
-            // 5. 비디오 링크 처리
-            if (boardDto.getLinks() != null && !boardDto.getLinks().isEmpty()) {
-                for (String link : boardDto.getLinks()) {
-                    BoardRef videoRef = BoardRef.builder()
-                            .board(board)
-                            .fileType("VIDEO_LINK")
-                            .fileUrl(link)
-                            .originalFileName(link)
-                            .storedFileName(link)
-                            .build();
-                    board.getAttachments().add(videoRef);
+                // 4. 새로운 파일 추가
+                for (StagedFile stagedFile : stagedFiles) {
+                    board.getAttachments().add(createBoardRef(stagedFile, board));
                 }
-            }
 
-            // 6. 저장
-            board = boardRepository.save(board);
+                // 5. 비디오 링크 처리
+                if (boardDto.getLinks() != null && !boardDto.getLinks().isEmpty()) {
+                    for (String link : boardDto.getLinks()) {
+                        BoardRef videoRef = BoardRef.builder()
+                                .board(board)
+                                .fileType("VIDEO_LINK")
+                                .fileUrl(link)
+                                .originalFileName(link)
+                                .storedFileName(link)
+                                .build();
+                        board.getAttachments().add(videoRef);
+                    }
+                }
+
+                // 6. 저장
+                board = boardRepository.save(board);
+                boardSearchIndex.indexOnCommit(board.getId(), board.getTitle(), board.getContent());
 
-            return convertToDto(board);
+                return convertToDto(board);
+            });
+
+            // 7. 삭제한 첨부파일의 blob 참조 해제 (마지막 참조면 파일 삭제)
+            releasedChecksums.forEach(attachmentStorage::release);
+            return updatedBoard;
         } catch (Exception e) {
-            // 7. 오류 발생 시 새로 생성된 파일들 정리
-            String boardUploadPath = Paths.get(uploadPath, String.valueOf(boardDto.getBoardId())).toString();
-            File boardDir = new File(boardUploadPath);
-            if (boardDir.exists()) {
-                deleteDirectory(boardDir);
-            }
+            // 8. 새로 추가한 첨부파일 참조 되돌림
+            releaseAll(stagedFiles);
             throw new RuntimeException("게시글 수정 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
@@ -196,25 +279,21 @@ public class BoardService {
         return convertToDto(board);
     }
 
-    private String createBoardUploadPath(Long boardId) {
-        String boardUploadPath = Paths.get(uploadPath, String.valueOf(boardId)).toString();
-        File uploadDir = new File(boardUploadPath);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
-        return boardUploadPath;
-    }
-
-    private void deleteExistingFiles(Board board, List<Long> remainingFileIds) {
+    private void deleteExistingFiles(Board board, List<Long> remainingFileIds, List<String> releasedChecksums) {
         try {
             // 1. 삭제할 첨부파일 목록 생성
             List<BoardRef> attachmentsToDelete = board.getAttachments().stream()
                     .filter(ref -> !remainingFileIds.contains(ref.getId()))
                     .toList();
 
-            // 2. 실제 파일 삭제
+            // 2. blob 참조는 커밋 후 해제하도록 모아 두고, 이전 방식으로 저장된 파일은 바로 삭제
             for (BoardRef ref : attachmentsToDelete) {
-                if (!"VIDEO_LINK".equals(ref.getFileType())) {
+                if ("VIDEO_LINK".equals(ref.getFileType())) {
+                    continue;
+                }
+                if (attachmentStorage.isManaged(Paths.get(ref.getFileUrl()))) {
+                    releasedChecksums.add(ref.getChecksum());
+                } else {
                     File file = new File(ref.getFileUrl());
                     if (file.exists() && !file.delete()) {
                         throw new IOException("파일 삭제 실패: " + ref.getFileUrl());
@@ -242,40 +321,44 @@ public class BoardService {
         }
     }
 
-    private void deleteDirectory(File directory) {
-        File[] files = directory.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    deleteDirectory(file);
-                } else {
-                    file.delete();
+    /**
+     * 비어 있지 않은 업로드 파일을 blob 저장소에 저장합니다. 중간에 실패하면 이미 저장한 참조를 되돌립니다.
+     */
+    private List<StagedFile> stageFiles(List<MultipartFile> files) {
+        List<StagedFile> stagedFiles = new ArrayList<>();
+        if (files == null) {
+            return stagedFiles;
+        }
+        try {
+            for (MultipartFile file : files) {
+                if (!file.isEmpty()) {
+                    stagedFiles.add(new StagedFile(file, attachmentStorage.store(file)));
                 }
             }
+        } catch (RuntimeException e) {
+            releaseAll(stagedFiles);
+            throw e;
         }
-        directory.delete();
+        return stagedFiles;
     }
 
-    private BoardRef createBoardRef(MultipartFile file, String fileType, Board board, String boardUploadPath) {
-        try {
-            String originalFileName = file.getOriginalFilename();
-            String storedFileName = UUID.randomUUID().toString() + "_" + originalFileName;
-
-            // 파일 저장
-            Path filePath = Paths.get(boardUploadPath, storedFileName);
-            Files.write(filePath, file.getBytes());
-
-            return BoardRef.builder()
-                    .board(board)
-                    .originalFileName(originalFileName)
-                    .storedFileName(storedFileName)
-                    .fileType(fileType)
-                    .fileUrl(filePath.toString())
-                    .fileSize(file.getSize())
-                    .build();
-        } catch (IOException e) {
-            throw new RuntimeException("파일 저장 중 오류가 발생했습니다.", e);
-        }
+    private void releaseAll(List<StagedFile> stagedFiles) {
+        stagedFiles.forEach(stagedFile -> attachmentStorage.release(stagedFile.blob().checksum()));
+    }
+
+    private BoardRef createBoardRef(StagedFile stagedFile, Board board) {
+        MultipartFile file = stagedFile.file();
+        AttachmentStorage.StoredBlob blob = stagedFile.blob();
+
+        return BoardRef.builder()
+                .board(board)
+                .originalFileName(file.getOriginalFilename())
+                .storedFileName(blob.checksum())
+                .fileType(determineFileType(file.getOriginalFilename()))
+                .fileUrl(blob.path().toString())
+                .fileSize(blob.size())
+                .checksum(blob.checksum())
+                .build();
     }
 
     private String determineFileType(String fileName) {
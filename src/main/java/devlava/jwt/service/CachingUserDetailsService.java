@@ -0,0 +1,47 @@
+package devlava.jwt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * CustomUserDetailsService 의 조회 결과를 캐시하는 데코레이터
+ * 회원 변경 시 MemberCacheInvalidator 가 캐시를 비웁니다.
+ */
+@Service
+@Primary
+public class CachingUserDetailsService implements UserDetailsService {
+
+    private final CustomUserDetailsService delegate;
+    private final Cache<String, UserDetails> userCache;
+
+    public CachingUserDetailsService(CustomUserDetailsService delegate,
+            @Value("${member.user-cache.max-size:10000}") long maxSize,
+            @Value("${member.user-cache.ttl:600000}") long ttlMillis) {
+        this.delegate = delegate;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userCache.get(username, delegate::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        userCache.invalidate(username);
+    }
+
+    public void evictAll() {
+        userCache.invalidateAll();
+    }
+}
@@ -0,0 +1,125 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.Campaign;
+import devlava.jwt.entity.CampaignCatalogVersion;
+import devlava.jwt.entity.CampaignPrizeTier;
+import devlava.jwt.repository.CampaignCatalogVersionRepository;
+import devlava.jwt.repository.CampaignRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 진행 중인 캠페인 설정을 불변 스냅샷으로 보관합니다.
+ * 참여 처리 시에는 스냅샷만 읽으므로 설정 조회가 없으며, 변경 시 새 스냅샷을 만들어 참조를 한 번에 교체합니다.
+ * 다른 노드의 변경은 버전 카운터 한 행을 주기적으로 확인하여 반영합니다.
+ */
+@Service
+public class CampaignCatalog {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignCatalogVersionRepository versionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 캠페인 키 -> 설정 (불변 Map, 통째로 교체)
+    private volatile Map<String, CampaignDefinition> campaigns = Map.of();
+
+    private volatile long lastSeenVersion;
+
+    public CampaignCatalog(CampaignRepository campaignRepository,
+            CampaignCatalogVersionRepository versionRepository,
+            TransactionTemplate transactionTemplate) {
+        this.campaignRepository = campaignRepository;
+        this.versionRepository = versionRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!versionRepository.existsById(CampaignCatalogVersion.SINGLETON_ID)) {
+            try {
+                versionRepository.save(new CampaignCatalogVersion(CampaignCatalogVersion.SINGLETON_ID, 0L));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 생성한 경우
+            }
+        }
+        if (!campaignRepository.existsById(Campaign.DEFAULT_KEY)) {
+            try {
+                campaignRepository.save(defaultCampaign());
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 생성한 경우
+            }
+        }
+        reload();
+    }
+
+    /**
+     * 캠페인 설정을 반환합니다. 없거나 진행 중이 아니면 null 입니다.
+     */
+    public CampaignDefinition find(String campaignKey) {
+        return campaigns.get(campaignKey);
+    }
+
+    public Collection<CampaignDefinition> findAll() {
+        return campaigns.values();
+    }
+
+    /**
+     * 현재 스냅샷을 만든 캠페인 설정 버전
+     */
+    public long version() {
+        return lastSeenVersion;
+    }
+
+    /**
+     * DB 에서 진행 중인 캠페인을 읽어 스냅샷을 교체합니다.
+     */
+    public void reload() {
+        long version = currentVersion();
+        Map<String, CampaignDefinition> loaded = transactionTemplate.execute(status -> {
+            Map<String, CampaignDefinition> result = new HashMap<>();
+            for (Campaign campaign : campaignRepository.findAllActiveWithTiers()) {
+                result.put(campaign.getKey(), CampaignDefinition.compile(campaign));
+            }
+            return result;
+        });
+        campaigns = Map.copyOf(loaded);
+        lastSeenVersion = version;
+    }
+
+    /**
+     * 버전 카운터가 바뀌었으면 다른 노드(또는 자신)에서 캠페인이 변경된 것이므로 스냅샷을 다시 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${event.campaign.poll-interval:5000}")
+    public void pollVersion() {
+        if (currentVersion() != lastSeenVersion) {
+            reload();
+        }
+    }
+
+    private long currentVersion() {
+        return versionRepository.findVersionById(CampaignCatalogVersion.SINGLETON_ID).orElse(0L);
+    }
+
+    /**
+     * 기존 단일 이벤트 (6월 25일 - 6월 26일, 매일 1등 2명, 2등 3명, 당첨 확률 1등 1%, 2등 2%)
+     */
+    private Campaign defaultCampaign() {
+        Campaign campaign = new Campaign();
+        campaign.setKey(Campaign.DEFAULT_KEY);
+        campaign.setName("기본 이벤트");
+        campaign.setStartDate(LocalDate.of(2025, 6, 25));
+        campaign.setEndDate(LocalDate.of(2025, 6, 26));
+        campaign.setActive(true);
+        campaign.getTiers().add(new CampaignPrizeTier(campaign, null, 1, 2, 0.01));
+        campaign.getTiers().add(new CampaignPrizeTier(campaign, null, 2, 3, 0.02));
+        return campaign;
+    }
+}
@@ -0,0 +1,146 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.Campaign;
+import devlava.jwt.entity.CampaignPrizeTier;
+
+import java.time.LocalDate;
+
+/**
+ * 캠페인 설정의 불변 스냅샷
+ * 등수별 당첨 인원과 당첨 확률을 일자 오프셋으로 바로 찾을 수 있도록 미리 펼쳐 두므로, 참여 처리 중에는 계산이나 조회가 필요 없습니다.
+ */
+public final class CampaignDefinition {
+
+    public static final int MAX_RANK = 10;
+
+    private final String key;
+    private final String name;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int rankCount;
+
+    // [일자 오프셋][rank - 1] -> 당첨 인원
+    private final int[][] limitsByDay;
+
+    // [일자 오프셋][rank - 1] -> 설정된 당첨 확률
+    private final double[][] probabilitiesByDay;
+
+    private CampaignDefinition(String key, String name, LocalDate startDate, LocalDate endDate,
+            int rankCount, int[][] limitsByDay, double[][] probabilitiesByDay) {
+        this.key = key;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.rankCount = rankCount;
+        this.limitsByDay = limitsByDay;
+        this.probabilitiesByDay = probabilitiesByDay;
+    }
+
+    /**
+     * 엔티티로부터 스냅샷을 만듭니다. 일자를 지정한 등수 설정이 기간 공통 설정보다 우선합니다.
+     */
+    public static CampaignDefinition compile(Campaign campaign) {
+        if (campaign.getEndDate().isBefore(campaign.getStartDate())) {
+            throw new IllegalArgumentException("캠페인 종료일이 시작일보다 빠릅니다. (" + campaign.getKey() + ")");
+        }
+
+        int days = (int) (campaign.getEndDate().toEpochDay() - campaign.getStartDate().toEpochDay()) + 1;
+        int rankCount = 0;
+        for (CampaignPrizeTier tier : campaign.getTiers()) {
+            if (tier.getRank() < 1 || tier.getRank() > MAX_RANK) {
+                throw new IllegalArgumentException("등수는 1 ~ " + MAX_RANK + " 사이여야 합니다. (" + campaign.getKey() + ")");
+            }
+            if (tier.getLimitCount() < 0) {
+                throw new IllegalArgumentException("당첨 인원은 0 이상이어야 합니다. (" + campaign.getKey() + ")");
+            }
+            rankCount = Math.max(rankCount, tier.getRank());
+        }
+
+        int[][] limitsByDay = new int[days][rankCount];
+        double[][] probabilitiesByDay = new double[days][rankCount];
+        // 1. 기간 공통 설정
+        for (CampaignPrizeTier tier : campaign.getTiers()) {
+            if (tier.getEventDay() == null) {
+                for (int day = 0; day < days; day++) {
+                    limitsByDay[day][tier.getRank() - 1] = tier.getLimitCount();
+                    probabilitiesByDay[day][tier.getRank() - 1] = tier.getProbability();
+                }
+            }
+        }
+        // 2. 일자 지정 설정 (기간 밖의 일자는 무시)
+        for (CampaignPrizeTier tier : campaign.getTiers()) {
+            if (tier.getEventDay() != null) {
+                long offset = tier.getEventDay().toEpochDay() - campaign.getStartDate().toEpochDay();
+                if (offset >= 0 && offset < days) {
+                    limitsByDay[(int) offset][tier.getRank() - 1] = tier.getLimitCount();
+                    probabilitiesByDay[(int) offset][tier.getRank() - 1] = tier.getProbability();
+                }
+            }
+        }
+
+        // 3. 일자별 확률 검증 (미당첨 확률 = 1 - 등수별 확률의 합)
+        for (int day = 0; day < days; day++) {
+            double winProbability = 0;
+            for (int rank = 1; rank <= rankCount; rank++) {
+                double probability = probabilitiesByDay[day][rank - 1];
+                if (probability < 0 || probability > 1) {
+                    throw new IllegalArgumentException("당첨 확률은 0 ~ 1 사이여야 합니다. (" + campaign.getKey() + ")");
+                }
+                winProbability += probability;
+            }
+            if (winProbability > 1.0 + 1e-9) {
+                throw new IllegalArgumentException("등수별 당첨 확률의 합이 1 을 넘습니다. (" + campaign.getKey() + ")");
+            }
+        }
+
+        return new CampaignDefinition(campaign.getKey(), campaign.getName(),
+                campaign.getStartDate(), campaign.getEndDate(), rankCount, limitsByDay, probabilitiesByDay);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LocalDate startDate() {
+        return startDate;
+    }
+
+    public LocalDate endDate() {
+        return endDate;
+    }
+
+    /**
+     * 설정된 최하위 등수 (등수는 1 부터 시작)
+     */
+    public int rankCount() {
+        return rankCount;
+    }
+
+    public boolean isOpen(LocalDate day) {
+        return !day.isBefore(startDate) && !day.isAfter(endDate);
+    }
+
+    /**
+     * 해당 일자/등수의 당첨 인원. 기간 밖이거나 설정이 없으면 0 입니다.
+     */
+    public int limit(LocalDate day, int rank) {
+        if (!isOpen(day) || rank < 1 || rank > rankCount) {
+            return 0;
+        }
+        return limitsByDay[(int) (day.toEpochDay() - startDate.toEpochDay())][rank - 1];
+    }
+
+    /**
+     * 해당 일자/등수에 설정된 당첨 확률. 기간 밖이거나 설정이 없으면 0 입니다.
+     */
+    public double probability(LocalDate day, int rank) {
+        if (!isOpen(day) || rank < 1 || rank > rankCount) {
+            return 0;
+        }
+        return probabilitiesByDay[(int) (day.toEpochDay() - startDate.toEpochDay())][rank - 1];
+    }
+}
@@ -0,0 +1,82 @@
+package devlava.jwt.service;
+
+import devlava.jwt.dto.CampaignRequest;
+import devlava.jwt.entity.Campaign;
+import devlava.jwt.entity.CampaignCatalogVersion;
+import devlava.jwt.entity.CampaignPrizeTier;
+import devlava.jwt.repository.CampaignCatalogVersionRepository;
+import devlava.jwt.repository.CampaignRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 캠페인 등록/변경
+ * 저장 후 버전 카운터를 올리고 로컬 스냅샷을 바로 교체합니다. (다른 노드는 폴링으로 반영)
+ */
+@Service
+public class CampaignService {
+
+    private final CampaignRepository campaignRepository;
+    private final CampaignCatalogVersionRepository versionRepository;
+    private final CampaignCatalog campaignCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CampaignService(CampaignRepository campaignRepository,
+            CampaignCatalogVersionRepository versionRepository,
+            CampaignCatalog campaignCatalog,
+            TransactionTemplate transactionTemplate) {
+        this.campaignRepository = campaignRepository;
+        this.versionRepository = versionRepository;
+        this.campaignCatalog = campaignCatalog;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public CampaignDefinition save(String campaignKey, CampaignRequest request) {
+        if (!StringUtils.hasText(campaignKey) || !StringUtils.hasText(request.getName())
+                || request.getStartDate() == null || request.getEndDate() == null) {
+            throw new RuntimeException("캠페인 키, 이름, 기간은 필수입니다.");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Campaign campaign = campaignRepository.findById(campaignKey).orElseGet(() -> {
+                Campaign created = new Campaign();
+                created.setKey(campaignKey);
+                return created;
+            });
+            campaign.setName(request.getName());
+            campaign.setStartDate(request.getStartDate());
+            campaign.setEndDate(request.getEndDate());
+            campaign.setActive(request.isActive());
+
+            // 기존 등수 설정을 먼저 삭제 (같은 일자/등수로 다시 등록할 때 unique 제약 충돌 방지)
+            campaign.getTiers().clear();
+            campaignRepository.saveAndFlush(campaign);
+            // 등수 설정을 보내지 않으면 등수 없이 저장 (모두 미당첨)
+            List<CampaignRequest.Tier> tiers = request.getTiers() != null ? request.getTiers() : List.of();
+            for (CampaignRequest.Tier tier : tiers) {
+                campaign.getTiers().add(new CampaignPrizeTier(campaign, tier.getEventDay(), tier.getRank(),
+                        tier.getLimit(), tier.getProbability()));
+            }
+
+            // 설정 검증 (실패 시 롤백)
+            try {
+                CampaignDefinition.compile(campaign);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException(e.getMessage());
+            }
+            entityManager.flush();
+            versionRepository.incrementVersion(CampaignCatalogVersion.SINGLETON_ID);
+        });
+
+        campaignCatalog.reload();
+        return campaignCatalog.find(campaignKey);
+    }
+}
@@ -2,13 +2,15 @@ package devlava.jwt.service;
 
 import devlava.jwt.entity.Member;
 import devlava.jwt.repository.MemberRepository;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -21,9 +23,12 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByUsername(username)
+        Member member = memberRepository.findByUsernameWithRole(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Member not found with username: " + username));
 
-        return new User(member.getId(), "", new ArrayList<>());
+        List<GrantedAuthority> authorities = member.getRole() != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + member.getRole().getRoleName().name()))
+                : List.of();
+        return new User(member.getId(), "", authorities);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package devlava.jwt.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 서버 측 당첨 추첨
+ * - 등수는 alias 테이블로 O(1) 에 뽑습니다. (0 = 미당첨)
+ * - 추첨 테이블은 캠페인/일자별로 adapt-interval 마다 남은 인원과 시간대별 허용 인원(pacedLimit)으로 다시 만듭니다.
+ *   설정된 확률에 "남은 인원 / 남은 시간에 배정된 인원" 비율을 곱하므로, 당첨이 일정보다 늦으면 확률이 올라가 남은 인원이 그날 안에 소진되고,
+ *   앞서 나가면 확률이 내려갑니다. 시간대 몫을 다 쓴 등수는 확률 0 으로 두어 당첨 후 미당첨으로 바꾸는 일이 없도록 합니다.
+ */
+@Service
+public class DrawEngine {
+
+    private static final double SECONDS_PER_DAY = 24 * 60 * 60;
+
+    // SplittableRandom 은 스레드 안전하지 않으므로 스레드마다 하나씩 사용
+    private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+
+    private record CampaignDay(String campaignKey, LocalDate day) {
+    }
+
+    // rebuilding - 한 요청만 새 테이블을 만들도록 표시 (그 사이 다른 요청은 이 테이블을 계속 사용)
+    private record AdaptiveTable(CampaignDefinition campaign, AliasTable table, long builtAtNanos,
+            AtomicBoolean rebuilding) {
+    }
+
+    private final PrizeQuotaStore prizeQuotaStore;
+
+    // 일정보다 앞서 허용할 시간 (ms) - 이 시간만큼 미래의 몫까지 미리 당첨 가능
+    private final long pacingWindow;
+
+    // 추첨 테이블을 다시 만드는 주기 (ms)
+    private final long adaptIntervalNanos;
+
+    // 설정된 확률에 곱할 수 있는 최대 배율 (마감 직전 남은 인원이 있을 때 확률이 과도하게 오르지 않도록 제한)
+    private final double maxBoost;
+
+    private final Map<CampaignDay, AdaptiveTable> tables = new ConcurrentHashMap<>();
+
+    public DrawEngine(PrizeQuotaStore prizeQuotaStore,
+            @Value("${event.draw.pacing-window:3600000}") long pacingWindow,
+            @Value("${event.draw.adapt-interval:1000}") long adaptInterval,
+            @Value("${event.draw.max-boost:10}") double maxBoost) {
+        this.prizeQuotaStore = prizeQuotaStore;
+        this.pacingWindow = pacingWindow;
+        this.adaptIntervalNanos = adaptInterval * 1_000_000;
+        this.maxBoost = maxBoost;
+    }
+
+    /**
+     * 등수를 뽑습니다. 기간 밖이거나 미당첨이면 0 입니다.
+     */
+    public int draw(CampaignDefinition campaign, LocalDate day) {
+        if (!campaign.isOpen(day)) {
+            return 0;
+        }
+        return tableFor(campaign, day).sample(RANDOM.get());
+    }
+
+    /**
+     * 지금까지 당첨될 수 있는 최대 인원을 반환합니다.
+     * 하루 제한 인원을 경과 시간에 비례하여 나누고 pacing-window 만큼 앞당기므로, 이른 시간에 당첨이 몰려도 남은 인원은 뒤로 넘어갑니다.
+     * 정해진 몫을 채우지 못하고 지나간 인원은 다음 시간대에 그대로 남으므로 하루가 끝날 때까지 모두 소진될 수 있습니다.
+     */
+    public int pacedLimit(CampaignDefinition campaign, LocalDate day, int rank, LocalTime now) {
+        int limit = campaign.limit(day, rank);
+        double elapsed = (now.toSecondOfDay() + pacingWindow / 1000.0) / SECONDS_PER_DAY;
+        if (limit == 0 || elapsed >= 1.0) {
+            return limit;
+        }
+        return Math.max(1, Math.min(limit, (int) Math.ceil(limit * elapsed)));
+    }
+
+    /**
+     * 등수별 실제 당첨 확률 (index 0 = 미당첨) 을 계산합니다.
+     * 확률 = 설정 확률 x min(max-boost, 남은 인원 / (하루 인원 x 남은 시간 비율)), 시간대 몫을 다 썼으면 0
+     * 합이 1 을 넘으면 등수 확률을 비례해서 줄이고 미당첨 확률을 0 으로 둡니다.
+     */
+    double[] effectiveWeights(CampaignDefinition campaign, LocalDate day, LocalTime now, int[] usedByRank) {
+        double remainingFraction = Math.max(1.0 - now.toSecondOfDay() / SECONDS_PER_DAY, 1.0 / SECONDS_PER_DAY);
+        double[] weights = new double[campaign.rankCount() + 1];
+        double winProbability = 0;
+        for (int rank = 1; rank <= campaign.rankCount(); rank++) {
+            int limit = campaign.limit(day, rank);
+            int used = usedByRank[rank - 1];
+            if (limit == 0 || used >= pacedLimit(campaign, day, rank, now)) {
+                continue;
+            }
+            double boost = (limit - used) / (limit * remainingFraction);
+            weights[rank] = campaign.probability(day, rank) * Math.min(maxBoost, boost);
+            winProbability += weights[rank];
+        }
+        if (winProbability > 1.0) {
+            for (int rank = 1; rank < weights.length; rank++) {
+                weights[rank] /= winProbability;
+            }
+            winProbability = 1.0;
+        }
+        weights[0] = 1.0 - winProbability;
+        return weights;
+    }
+
+    private AliasTable tableFor(CampaignDefinition campaign, LocalDate day) {
+        CampaignDay key = new CampaignDay(campaign.key(), day);
+        AdaptiveTable current = tables.get(key);
+        if (current == null) {
+            // 날짜가 바뀌면 지난 일자의 테이블은 정리
+            tables.keySet().removeIf(existing -> existing.day().isBefore(day));
+        } else if (current.campaign() == campaign) {
+            if (System.nanoTime() - current.builtAtNanos() < adaptIntervalNanos
+                    || !current.rebuilding().compareAndSet(false, true)) {
+                // 아직 유효하거나 다른 요청이 다시 만드는 중이면 기존 테이블 사용
+                return current.table();
+            }
+        }
+        // 처음이거나 캠페인 설정이 바뀐 경우에는 기존 테이블을 쓸 수 없으므로 바로 만듦
+        // 사용 인원 조회는 잠금 밖에서 실행 (ledger 모드에서도 요청마다 쿼리하지 않도록 rebuilding 으로 한 요청만 실행)
+        AdaptiveTable rebuilt = build(campaign, day);
+        tables.put(key, rebuilt);
+        return rebuilt.table();
+    }
+
+    private AdaptiveTable build(CampaignDefinition campaign, LocalDate day) {
+        int[] usedByRank = prizeQuotaStore.usedByRank(campaign.key(), day);
+        double[] weights = effectiveWeights(campaign, day, LocalTime.now(), usedByRank);
+        return new AdaptiveTable(campaign, AliasTable.of(weights), System.nanoTime(), new AtomicBoolean());
+    }
+}
@@ -0,0 +1,167 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.TbLmsEventRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 캠페인별 이벤트 참여 현황을 메모리에 보관하여 "이미 당첨됨", "오늘 이미 참여함" 확인을 쿼리 없이 처리합니다.
+ * - 기동 시 DB 에서 전체 당첨자를 읽어 초기화하고, 일자별 참여자는 처음 조회할 때 읽습니다.
+ * - 참여 저장 시 갱신되며, 저장 트랜잭션이 롤백되면 되돌립니다.
+ * - 다른 노드에서 저장된 참여는 refresh-interval 마다 진행 중인 캠페인별로 마지막으로 읽은 참여 시각 이후의 내역을 읽어 반영합니다.
+ * 반영 전까지는 다른 노드의 참여를 모를 수 있으므로 이 인덱스는 "이미 참여함" 을 빠르게 거르는 용도이며,
+ * 하루 한 번 참여와 한 번 당첨은 TB_LMS_EVENT 의 unique 제약으로 보장합니다.
+ */
+@Service
+public class EventParticipationIndex {
+
+    private final TbLmsEventRepository repository;
+    private final CampaignCatalog campaignCatalog;
+
+    private record CampaignDay(String campaignKey, LocalDate day) {
+    }
+
+    // 캠페인 키 -> (memberId -> 당첨 등수) (캠페인 기간 전체)
+    private final Map<String, Map<String, Integer>> winners = new ConcurrentHashMap<>();
+
+    // 캠페인/일자 -> 그날 참여한 memberId
+    private final Map<CampaignDay, Set<String>> participantsByDay = new ConcurrentHashMap<>();
+
+    // 캠페인 키 -> 지금까지 읽은 참여 내역의 최대 생성일시 (다음 갱신은 이 시각부터 읽음)
+    private final Map<String, Date> readUntil = new ConcurrentHashMap<>();
+
+    // 초기화 시각 - 아직 읽은 내역이 없는 캠페인은 이 시각부터 읽음
+    private volatile Date rebuiltAt = new Date();
+
+    public EventParticipationIndex(TbLmsEventRepository repository, CampaignCatalog campaignCatalog) {
+        this.repository = repository;
+        this.campaignCatalog = campaignCatalog;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        rebuiltAt = new Date();
+        readUntil.clear();
+        winners.clear();
+        repository.findAllWinners().forEach(winner ->
+                winnersOf(winner.getCampaignKey()).put(winner.getMemberId(), winner.getRank()));
+
+        participantsByDay.clear();
+    }
+
+    /**
+     * 진행 중인 캠페인마다 마지막으로 읽은 참여 이후 저장된 내역을 반영합니다. (이미 있는 내역은 그대로 유지)
+     * 일자별 참여자는 이미 읽어 둔 일자만 갱신하며, 읽지 않은 일자는 처음 조회할 때 DB 에서 읽습니다.
+     * 이미 읽은 최대 생성일시보다 이른 시각으로 늦게 커밋된 참여는 놓칠 수 있지만, 중복 참여는 unique 제약이 막습니다.
+     */
+    @Scheduled(fixedDelayString = "${event.participation.refresh-interval:1000}")
+    public void refresh() {
+        LocalDate today = LocalDate.now();
+        for (CampaignDefinition campaign : campaignCatalog.findAll()) {
+            if (!campaign.isOpen(today)) {
+                continue;
+            }
+            Date since = readUntil.getOrDefault(campaign.key(), rebuiltAt);
+            Date latest = since;
+            for (TbLmsEventRepository.ParticipationProjection participation
+                    : repository.findParticipationsSince(campaign.key(), since)) {
+                if (participation.isDraw()) {
+                    winnersOf(campaign.key()).putIfAbsent(participation.getMemberId(), participation.getRank());
+                }
+                LocalDate day = participation.getCreateDt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+                Set<String> participants = participantsByDay.get(new CampaignDay(campaign.key(), day));
+                if (participants != null) {
+                    participants.add(participation.getMemberId());
+                }
+                if (participation.getCreateDt().after(latest)) {
+                    latest = participation.getCreateDt();
+                }
+            }
+            readUntil.put(campaign.key(), latest);
+        }
+    }
+
+    /**
+     * 당첨된 적이 있으면 등수를, 없으면 null 을 반환합니다.
+     */
+    public Integer findWinningRank(String campaignKey, String memberId) {
+        Map<String, Integer> campaignWinners = winners.get(campaignKey);
+        return campaignWinners != null ? campaignWinners.get(memberId) : null;
+    }
+
+    public boolean hasPlayed(String campaignKey, LocalDate day, String memberId) {
+        return participantsFor(campaignKey, day).contains(memberId);
+    }
+
+    /**
+     * 오늘 참여로 표시합니다. 이미 참여했으면 false 를 반환합니다. (동시 요청 중 하나만 성공)
+     * 현재 트랜잭션이 롤백되면 표시를 되돌립니다.
+     */
+    public boolean tryMarkPlayed(String campaignKey, LocalDate day, String memberId) {
+        Set<String> participants = participantsFor(campaignKey, day);
+        if (!participants.add(memberId)) {
+            return false;
+        }
+        onRollback(() -> participants.remove(memberId));
+        return true;
+    }
+
+    /**
+     * 당첨 내역을 기록합니다. 현재 트랜잭션이 롤백되면 되돌립니다.
+     */
+    public void recordWin(String campaignKey, String memberId, int rank) {
+        Map<String, Integer> campaignWinners = winnersOf(campaignKey);
+        if (campaignWinners.putIfAbsent(memberId, rank) == null) {
+            onRollback(() -> campaignWinners.remove(memberId, rank));
+        }
+    }
+
+    private Map<String, Integer> winnersOf(String campaignKey) {
+        return winners.computeIfAbsent(campaignKey, key -> new ConcurrentHashMap<>());
+    }
+
+    private Set<String> participantsFor(String campaignKey, LocalDate day) {
+        CampaignDay key = new CampaignDay(campaignKey, day);
+        Set<String> participants = participantsByDay.get(key);
+        if (participants != null) {
+            return participants;
+        }
+        // 날짜가 바뀌면 지난 일자의 참여자는 정리
+        participantsByDay.keySet().removeIf(existing -> existing.day().isBefore(day.minusDays(1)));
+        return participantsByDay.computeIfAbsent(key, this::loadParticipants);
+    }
+
+    private Set<String> loadParticipants(CampaignDay key) {
+        LocalDate day = key.day();
+        Date startOfDay = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date endOfDay = Date.from(day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        Set<String> participants = ConcurrentHashMap.newKeySet();
+        participants.addAll(repository.findParticipantIds(key.campaignKey(), startOfDay, endOfDay));
+        return participants;
+    }
+
+    private void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    undo.run();
+                }
+            }
+        });
+    }
+}
@@ -1,26 +1,40 @@
 package devlava.jwt.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import devlava.jwt.dto.EventAvailableResponse;
+import devlava.jwt.dto.EventHistoryPageResponse;
 import devlava.jwt.dto.EventHistoryResponse;
 import devlava.jwt.dto.EventResultResponse;
-import devlava.jwt.entity.Member;
 import devlava.jwt.entity.TbLmsEvent;
 import devlava.jwt.repository.MemberRepository;
 import devlava.jwt.repository.TbLmsEventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.stream.Stream;
 
 /**
- * 해당 이벤트는 6월 25일 - 6월 26일 진행 이벤트 입니다.
- * 각 일자에 1등 2명, 2등 3명 제한을 두고 있습니다.
+ * 캠페인별 이벤트 참여를 처리합니다.
+ * 진행 기간과 일자별/등수별 당첨 인원, 당첨 확률은 캠페인 설정(CampaignCatalog 스냅샷)을 따르며, 여러 캠페인을 동시에 진행할 수 있습니다.
+ * 당첨 여부는 클라이언트가 아니라 서버의 DrawEngine 이 추첨합니다.
  */
 @Service
 @Transactional
@@ -32,25 +46,28 @@ public class EventService {
     @Autowired
     MemberRepository memberRepository;
 
-    private static final LocalDate EVENT_START_DATE = LocalDate.of(2025, 6, 25);
-    private static final LocalDate EVENT_END_DATE = LocalDate.of(2025, 6, 26);
-    private static final int FIRST_PRIZE_LIMIT = 2; // 1등 당첨자 제한 수
-    private static final int SECOND_PRIZE_LIMIT = 3; // 2등 당첨자 제한 수
+    @Autowired
+    PrizeQuotaStore prizeQuotaStore;
 
-    /**
-     * 특정 날짜의 등수별 당첨자 수를 조회합니다.
-     */
-    private record PrizeCount(long rank1Count, long rank2Count) {
-    }
+    @Autowired
+    EventParticipationIndex participationIndex;
 
-    /**
-     * 오늘 날짜의 등수별 당첨자 수를 조회합니다.
-     */
-    private PrizeCount getTodayPrizeCounts(Date startOfDay, Date endOfDay) {
-        long rank1Count = repository.countByCreateDtBetweenAndRank(startOfDay, endOfDay, 1);
-        long rank2Count = repository.countByCreateDtBetweenAndRank(startOfDay, endOfDay, 2);
-        return new PrizeCount(rank1Count, rank2Count);
-    }
+    @Autowired
+    CampaignCatalog campaignCatalog;
+
+    @Autowired
+    DrawEngine drawEngine;
+
+    @Autowired
+    LosingEntryBuffer losingEntryBuffer;
+
+    @Autowired
+    EventStatsService eventStatsService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
 
     /**
      * 이벤트 참여 가능 여부를 검증한 결과
@@ -68,43 +85,45 @@ public class EventService {
     /**
      * 이벤트 참여 가능 여부를 검증합니다.
      */
-    private ValidationResult validateEventParticipation(String memberId, boolean isDraw) {
+    private ValidationResult validateEventParticipation(CampaignDefinition campaign, String memberId,
+            boolean checkPrizeQuota) {
         LocalDate today = LocalDate.now();
 
         // 1. 이벤트 기간 검증
-        if (today.isBefore(EVENT_START_DATE) || today.isAfter(EVENT_END_DATE)) {
+        if (campaign == null || !campaign.isOpen(today)) {
             return ValidationResult.fail("이벤트 기간이 아닙니다.");
         }
 
-        // 2. 전체 이벤트 기간 중 당첨 이력 검증
-        Optional<TbLmsEvent> drawResultByMemberId = repository.findDrawResultByMemberId(memberId);
-        if (drawResultByMemberId.isPresent()) {
-            TbLmsEvent event = drawResultByMemberId.get();
-            return ValidationResult.fail("이벤트 당첨 내역이 있습니다. (" + event.getRank() + "등)");
+        // 2. 전체 이벤트 기간 중 당첨 이력 검증 (메모리 인덱스, 쿼리 없음)
+        Integer winningRank = participationIndex.findWinningRank(campaign.key(), memberId);
+        if (winningRank != null) {
+            return ValidationResult.fail("이벤트 당첨 내역이 있습니다. (" + winningRank + "등)");
         }
 
-        // 3. 오늘 참여 이력 검증
-        Date startOfDay = Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date endOfDay = Date.from(today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        List<TbLmsEvent> todayEvents = repository.findByMemberIdAndCreateDtBetween(memberId, startOfDay, endOfDay);
-        if (!todayEvents.isEmpty()) {
+        // 3. 오늘 참여 이력 검증 (메모리 인덱스, 쿼리 없음)
+        if (participationIndex.hasPlayed(campaign.key(), today, memberId)) {
             return ValidationResult.fail("오늘 이미 참여하셨습니다.");
         }
 
-        // 4. 당첨자 수 검증 (당첨 시에만)
-        if (isDraw) {
-            PrizeCount prizeCount = getTodayPrizeCounts(startOfDay, endOfDay);
-            if (prizeCount.rank1Count() >= FIRST_PRIZE_LIMIT && prizeCount.rank2Count() >= SECOND_PRIZE_LIMIT) {
-                return ValidationResult.fail("오늘 당첨 인원이 모두 찼습니다.");
-            }
+        // 4. 남은 당첨 인원 검증 (count 쿼리 없이 확인)
+        if (checkPrizeQuota && !hasRemainingPrize(campaign, today)) {
+            return ValidationResult.fail("오늘 당첨 인원이 모두 찼습니다.");
         }
 
         return ValidationResult.success();
     }
 
-    public EventAvailableResponse isAvailable(String memberId) {
-        ValidationResult validationResult = validateEventParticipation(memberId, true);
+    private boolean hasRemainingPrize(CampaignDefinition campaign, LocalDate today) {
+        for (int rank = 1; rank <= campaign.rankCount(); rank++) {
+            if (prizeQuotaStore.hasRemaining(campaign.key(), today, rank, campaign.limit(today, rank))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public EventAvailableResponse isAvailable(String campaignKey, String memberId) {
+        ValidationResult validationResult = validateEventParticipation(campaignCatalog.find(campaignKey), memberId, true);
 
         return EventAvailableResponse.builder()
                 .available(validationResult.isValid())
@@ -112,9 +131,14 @@ public class EventService {
                 .build();
     }
 
-    public EventResultResponse save(boolean isDraw, String memberId) {
-        // 참여 가능 여부 검증
-        ValidationResult validationResult = validateEventParticipation(memberId, isDraw);
+    /**
+     * 이벤트에 참여합니다. 당첨 여부와 등수는 서버에서 추첨합니다.
+     */
+    public EventResultResponse save(String campaignKey, String memberId) {
+        CampaignDefinition campaign = campaignCatalog.find(campaignKey);
+
+        // 참여 가능 여부 검증 (당첨 인원이 모두 찼어도 참여는 가능 - 미당첨 처리)
+        ValidationResult validationResult = validateEventParticipation(campaign, memberId, false);
         if (!validationResult.isValid()) {
             return EventResultResponse.builder()
                     .message(validationResult.errorMessage())
@@ -122,59 +146,62 @@ public class EventService {
         }
 
         LocalDate today = LocalDate.now();
-        Date startOfDay = Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date endOfDay = Date.from(today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
 
-        // Member 엔티티 조회
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(() -> new RuntimeException("회원을 찾을 수 없습니다."));
+        // 오늘 참여로 표시 (동시 요청 중 하나만 통과, 저장 실패 시 되돌림)
+        if (!participationIndex.tryMarkPlayed(campaign.key(), today, memberId)) {
+            return EventResultResponse.builder()
+                    .message("오늘 이미 참여하셨습니다.")
+                    .build();
+        }
+
+        // 남은 인원에 맞춰 조정된 확률로 추첨 후, 하루 제한 인원과 시간대별 허용 인원 안에서 예약 (제한 인원을 넘지 않음)
+        int rank = drawEngine.draw(campaign, today);
+        if (rank > 0 && !prizeQuotaStore.tryReserve(campaign.key(), today, rank, campaign.limit(today, rank),
+                drawEngine.pacedLimit(campaign, today, rank, LocalTime.now()))) {
+            // 추첨 테이블을 다시 만들기 전에 해당 등수의 몫이 소진된 경우만 미당첨
+            rank = 0;
+        }
 
         // 당첨시 rank 부여하여 저장, 미당첨시 rank 0 부여하여 저장
-        if (isDraw) {
-            // 1등, 2등 인원 확인
-            PrizeCount prizeCount = getTodayPrizeCounts(startOfDay, endOfDay);
-            int rank;
-            String resultMessage;
-
-            // 1등이 2명 미만이면 1등
-            if (prizeCount.rank1Count() < FIRST_PRIZE_LIMIT) {
-                rank = 1;
-                resultMessage = "축하합니다! 1등에 당첨되셨습니다!";
-            }
-            // 1등이 찼고, 2등이 3명 미만이면 2등
-            else if (prizeCount.rank2Count() < SECOND_PRIZE_LIMIT) {
-                rank = 2;
-                resultMessage = "축하합니다! 2등에 당첨되셨습니다!";
-            }
-            // 1등, 2등 모두 찼으면 당첨 불가
-            else {
-                return EventResultResponse.builder()
-                        .message("죄송합니다. 오늘 당첨 인원이 모두 찼습니다.")
-                        .build();
-            }
+        if (rank > 0) {
+            // 저장이 실패(롤백)하면 예약한 인원을 반환
+            prizeQuotaStore.releaseOnRollback(campaign.key(), today, rank);
 
+            // Member 는 조회하지 않고 참조만 사용 (인증된 회원 ID)
             TbLmsEvent event = TbLmsEvent.builder()
-                    .member(member)
+                    .campaignKey(campaign.key())
+                    .member(memberRepository.getReferenceById(memberId))
                     .draw(true)
                     .rank(rank)
                     .createDt(new Date())
                     .build();
 
-            repository.save(event);
+            // 다른 노드에서 같은 회원이 먼저 참여/당첨한 경우 unique 제약으로 거부됨 (예약한 인원은 롤백으로 반환)
+            if (!saveOnce(event)) {
+                return alreadyParticipated();
+            }
+            participationIndex.recordWin(campaign.key(), memberId, rank);
+            eventStatsService.recordOnCommit(campaign.key(), today, rank);
 
             return EventResultResponse.builder()
-                    .message(resultMessage)
+                    .message("축하합니다! " + rank + "등에 당첨되셨습니다!")
                     .build();
         } else {
-            // 미당첨자는 rank 0으로 저장
-            TbLmsEvent event = TbLmsEvent.builder()
-                    .member(member)
-                    .draw(false)
-                    .rank(0)
-                    .createDt(new Date())
-                    .build();
-
-            repository.save(event);
+            // 미당첨자는 rank 0으로 모아서 저장 (버퍼가 가득 찼으면 바로 저장)
+            Date createDt = new Date();
+            if (!losingEntryBuffer.enqueue(campaign.key(), memberId, createDt)) {
+                boolean saved = saveOnce(TbLmsEvent.builder()
+                        .campaignKey(campaign.key())
+                        .member(memberRepository.getReferenceById(memberId))
+                        .draw(false)
+                        .rank(0)
+                        .createDt(createDt)
+                        .build());
+                if (!saved) {
+                    return alreadyParticipated();
+                }
+                eventStatsService.recordOnCommit(campaign.key(), today, 0);
+            }
 
             return EventResultResponse.builder()
                     .message("아쉽게도 당첨되지 않았습니다. 다음 기회에 도전해주세요!")
@@ -183,27 +210,144 @@ public class EventService {
     }
 
     /**
-     * 이벤트 기간의 참여 내역을 조회합니다.
-     * 
-     * @return 이벤트 참여 내역 목록
+     * 참여 내역을 바로 INSERT 합니다. 하루 한 번 참여 또는 한 번 당첨 제약에 걸리면 트랜잭션을 롤백으로 표시하고 false 를 반환합니다.
+     * 그 외의 제약 위반은 그대로 던집니다.
      */
-    public List<EventHistoryResponse> getEventHistory() {
-        // 이벤트 시작일의 00:00:00
-        Date startDt = Date.from(EVENT_START_DATE.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        // 이벤트 종료일의 23:59:59
-        Date endDt = Date
-                .from(EVENT_END_DATE.plusDays(1).atStartOfDay(ZoneId.systemDefault()).minusSeconds(1).toInstant());
-
-        List<TbLmsEvent> events = repository.findEventHistoryByDateRange(startDt, endDt);
-
-        return events.stream()
-                .map(event -> EventHistoryResponse.builder()
-                        .memberId(event.getMember().getId())
-                        .memberName(event.getMember().getUsername())
-                        .draw(event.isDraw())
-                        .rank(event.getRank())
-                        .createDt(event.getCreateDt())
-                        .build())
-                .collect(Collectors.toList());
+    private boolean saveOnce(TbLmsEvent event) {
+        try {
+            repository.saveAndFlush(event);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateParticipation(e)) {
+                throw e;
+            }
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return false;
+        }
+    }
+
+    /**
+     * 하루 한 번 참여 또는 한 번 당첨 제약 위반인지 확인합니다. (탈퇴한 회원의 FK 위반 등 다른 제약은 false)
+     * DB 마다 제약 이름의 대소문자와 메시지 형식이 달라 원인 예외의 메시지에 제약 이름이 있는지로 판단합니다.
+     */
+    static boolean isDuplicateParticipation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null) {
+                String upper = message.toUpperCase(Locale.ROOT);
+                if (upper.contains(TbLmsEvent.UK_MEMBER_DAY.toUpperCase(Locale.ROOT))
+                        || upper.contains(TbLmsEvent.UK_WINNER.toUpperCase(Locale.ROOT))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static EventResultResponse alreadyParticipated() {
+        return EventResultResponse.builder()
+                .message("이미 참여한 내역이 있습니다.")
+                .build();
+    }
+
+    /**
+     * 캠페인 기간의 참여 내역을 한 페이지씩 조회합니다. (생성일시 내림차순, keyset 페이지네이션)
+     *
+     * @param campaignKey 캠페인 키
+     * @param cursor 직전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size   페이지 크기
+     * @return 이벤트 참여 내역 한 페이지
+     */
+    @Transactional(readOnly = true)
+    public EventHistoryPageResponse getEventHistory(String campaignKey, String cursor, int size) {
+        CampaignDefinition campaign = findCampaign(campaignKey);
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<EventHistoryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findHistoryFirstPage(campaign.key(), startDt(campaign), endDt(campaign), limit);
+        } else {
+            String[] parts = cursor.split("_", 2);
+            try {
+                rows = repository.findHistoryPageAfter(campaign.key(), startDt(campaign), endDt(campaign),
+                        new Date(Long.parseLong(parts[0])), Long.parseLong(parts[1]), limit);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new RuntimeException("잘못된 cursor 입니다.");
+            }
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            EventHistoryResponse last = rows.get(pageSize - 1);
+            nextCursor = last.getCreateDt().getTime() + "_" + last.getId();
+        }
+
+        return EventHistoryPageResponse.builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 캠페인 기간의 참여 내역 전체를 한 건씩 읽어 바로 출력합니다. (행 수와 관계없이 메모리 사용량 일정)
+     */
+    @Transactional(readOnly = true)
+    public void exportEventHistory(String campaignKey, OutputStream out, HistoryExportFormat format) throws IOException {
+        CampaignDefinition campaign = findCampaign(campaignKey);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == HistoryExportFormat.CSV) {
+            writer.write("memberId,memberName,draw,rank,createDt\n");
+        }
+
+        try (Stream<EventHistoryResponse> rows = repository.streamHistory(campaign.key(), startDt(campaign), endDt(campaign))) {
+            Iterator<EventHistoryResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                EventHistoryResponse row = iterator.next();
+                if (format == HistoryExportFormat.CSV) {
+                    writer.write(csv(row.getMemberId()) + "," + csv(row.getMemberName()) + ","
+                            + row.isDraw() + "," + row.getRank() + "," + row.getCreateDt().toInstant() + "\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    public enum HistoryExportFormat {
+        CSV,
+        NDJSON
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private CampaignDefinition findCampaign(String campaignKey) {
+        CampaignDefinition campaign = campaignCatalog.find(campaignKey);
+        if (campaign == null) {
+            throw new RuntimeException("캠페인을 찾을 수 없습니다.");
+        }
+        return campaign;
+    }
+
+    // 캠페인 시작일의 00:00:00
+    private static Date startDt(CampaignDefinition campaign) {
+        return Date.from(campaign.startDate().atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    // 캠페인 종료일 다음날 00:00:00 (미포함)
+    private static Date endDt(CampaignDefinition campaign) {
+        return Date.from(campaign.endDate().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
-}
\ No newline at end of file
+}
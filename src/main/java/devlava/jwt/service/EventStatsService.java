@@ -0,0 +1,259 @@
+package devlava.jwt.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import devlava.jwt.dto.EventStatsResponse;
+import devlava.jwt.entity.EventDailyStats;
+import devlava.jwt.repository.EventDailyStatsRepository;
+import devlava.jwt.repository.TbLmsEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 일자별 이벤트 통계 (EVENT_DAILY_STATS)
+ * - 참여 내역이 커밋되면 메모리 카운터만 증가시키고, flush-interval 마다 캠페인/일자/등수별 UPDATE 한 번으로 모아서 반영합니다.
+ * - reconcile-interval 마다 TB_LMS_EVENT 의 건수로 집계를 보정합니다. 처음 보는 캠페인은 시작일부터 전부 맞추므로 기존 참여 내역이 집계에 들어가고,
+ *   이후에는 어제와 오늘만 맞추어 반영 전에 종료된 노드가 잃은 증가분을 되살립니다.
+ * - 조회는 집계 테이블만 읽고 캠페인별로 cache-ttl 동안 캐시하므로, 대시보드가 자주 조회해도 TB_LMS_EVENT 에 부하가 없습니다.
+ */
+@Slf4j
+@Service
+public class EventStatsService {
+
+    private record StatsKey(String campaignKey, LocalDate day, int rank) {
+    }
+
+    private final EventDailyStatsRepository statsRepository;
+    private final TbLmsEventRepository eventRepository;
+    private final CampaignCatalog campaignCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, EventStatsResponse> statsCache;
+
+    // 아직 반영하지 않은 증가분
+    private final Map<StatsKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // 이 노드에서 시작일부터 보정을 마친 캠페인 키
+    private final Set<String> reconciledCampaigns = ConcurrentHashMap.newKeySet();
+
+    public EventStatsService(EventDailyStatsRepository statsRepository,
+            TbLmsEventRepository eventRepository,
+            CampaignCatalog campaignCatalog,
+            TransactionTemplate transactionTemplate,
+            @Value("${event.stats.cache-ttl:2000}") long cacheTtlMillis) {
+        this.statsRepository = statsRepository;
+        this.eventRepository = eventRepository;
+        this.campaignCatalog = campaignCatalog;
+        this.transactionTemplate = transactionTemplate;
+        this.statsCache = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .build();
+    }
+
+    /**
+     * 참여 내역 한 건을 집계에 더합니다. (이미 커밋된 경우)
+     */
+    public void record(String campaignKey, LocalDate day, int rank) {
+        pending.computeIfAbsent(new StatsKey(campaignKey, day, rank), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 집계에 더합니다. 트랜잭션 밖이면 바로 더합니다.
+     */
+    public void recordOnCommit(String campaignKey, LocalDate day, int rank) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(campaignKey, day, rank);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(campaignKey, day, rank);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${event.stats.flush-interval:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            for (StatsKey key : pending.keySet()) {
+                LongAdder adder = pending.get(key);
+                long delta = adder != null ? adder.sumThenReset() : 0;
+                if (delta == 0) {
+                    continue;
+                }
+                try {
+                    apply(key, delta);
+                } catch (RuntimeException e) {
+                    // 다음 주기에 다시 반영
+                    log.warn("이벤트 통계 반영 실패 - {}", key, e);
+                    adder.add(delta);
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 캠페인별로 TB_LMS_EVENT 의 일자/등수별 건수를 읽어 집계 행을 맞춥니다.
+     * 건수를 세는 동안 커밋된 참여는 다음 보정 때까지 한 번 더 더해질 수 있습니다.
+     */
+    @Scheduled(fixedDelayString = "${event.stats.reconcile-interval:600000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        for (CampaignDefinition campaign : campaignCatalog.findAll()) {
+            LocalDate from = reconciledCampaigns.contains(campaign.key()) ? today.minusDays(1) : campaign.startDate();
+            if (from.isBefore(campaign.startDate())) {
+                from = campaign.startDate();
+            }
+            LocalDate to = campaign.endDate().isBefore(today) ? campaign.endDate() : today;
+            if (from.isAfter(to)) {
+                // 시작 전이거나 이미 보정을 마친 종료된 캠페인
+                continue;
+            }
+            try {
+                reconcile(campaign.key(), from, to);
+                reconciledCampaigns.add(campaign.key());
+            } catch (RuntimeException e) {
+                // 다음 주기에 다시 보정
+                log.warn("이벤트 통계 보정 실패 - campaign={}, {} ~ {}", campaign.key(), from, to, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 캠페인의 일자별 참여자 수, 등수별 당첨자 수, 남은 당첨 인원을 반환합니다.
+     */
+    public EventStatsResponse getStats(String campaignKey) {
+        CampaignDefinition campaign = campaignCatalog.find(campaignKey);
+        if (campaign == null) {
+            throw new RuntimeException("캠페인을 찾을 수 없습니다.");
+        }
+        return statsCache.get(campaignKey, key -> loadStats(campaign));
+    }
+
+    private void apply(StatsKey key, long delta) {
+        Integer updated = transactionTemplate.execute(status ->
+                statsRepository.increment(key.campaignKey(), key.day(), key.rank(), delta));
+        if (updated != null && updated > 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    statsRepository.saveAndFlush(new EventDailyStats(key.campaignKey(), key.day(), key.rank(), delta)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 행을 만든 경우
+            transactionTemplate.execute(status ->
+                    statsRepository.increment(key.campaignKey(), key.day(), key.rank(), delta));
+        }
+    }
+
+    private void reconcile(String campaignKey, LocalDate from, LocalDate to) {
+        Date startDate = Date.from(from.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date endDate = Date.from(to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        // 보정하는 동안 이 노드의 증가분이 건수와 겹치지 않도록 먼저 반영하고 반영을 멈춤
+        flushLock.lock();
+        try {
+            flush();
+            Map<StatsKey, Long> counts = new HashMap<>();
+            for (TbLmsEventRepository.DayRankCount count
+                    : eventRepository.countByCreateDtBetweenGroupByDayAndRank(campaignKey, startDate, endDate)) {
+                counts.put(new StatsKey(campaignKey, count.getEventDay(), count.getRank()), count.getCount());
+            }
+            // 집계 행은 있지만 참여 내역이 없는 등수는 0 으로
+            for (EventDailyStats stats : statsRepository.findByCampaignKeyOrderByEventDayAscRankAsc(campaignKey)) {
+                if (!stats.getEventDay().isBefore(from) && !stats.getEventDay().isAfter(to)) {
+                    counts.putIfAbsent(new StatsKey(campaignKey, stats.getEventDay(), stats.getRank()), 0L);
+                }
+            }
+            counts.forEach(this::overwrite);
+        } finally {
+            flushLock.unlock();
+        }
+        statsCache.invalidate(campaignKey);
+    }
+
+    private void overwrite(StatsKey key, long entries) {
+        Integer updated = transactionTemplate.execute(status ->
+                statsRepository.overwrite(key.campaignKey(), key.day(), key.rank(), entries));
+        if (updated != null && updated > 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    statsRepository.saveAndFlush(new EventDailyStats(key.campaignKey(), key.day(), key.rank(), entries)));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 행을 만든 경우
+            transactionTemplate.execute(status ->
+                    statsRepository.overwrite(key.campaignKey(), key.day(), key.rank(), entries));
+        }
+    }
+
+    private EventStatsResponse loadStats(CampaignDefinition campaign) {
+        // 일자 -> 등수별 건수 (index 0 = 미당첨)
+        Map<LocalDate, long[]> entriesByDay = new TreeMap<>();
+        for (EventDailyStats stats : statsRepository.findByCampaignKeyOrderByEventDayAscRankAsc(campaign.key())) {
+            if (stats.getRank() > campaign.rankCount()) {
+                continue;
+            }
+            entriesByDay.computeIfAbsent(stats.getEventDay(), day -> new long[campaign.rankCount() + 1])
+                    [stats.getRank()] = stats.getEntries();
+        }
+
+        List<EventStatsResponse.Day> days = new ArrayList<>();
+        for (LocalDate day = campaign.startDate(); !day.isAfter(campaign.endDate()); day = day.plusDays(1)) {
+            long[] entries = entriesByDay.getOrDefault(day, new long[campaign.rankCount() + 1]);
+            long participants = 0;
+            List<Long> winners = new ArrayList<>();
+            List<Long> remaining = new ArrayList<>();
+            for (int rank = 0; rank <= campaign.rankCount(); rank++) {
+                participants += entries[rank];
+                if (rank > 0) {
+                    winners.add(entries[rank]);
+                    remaining.add(Math.max(0, campaign.limit(day, rank) - entries[rank]));
+                }
+            }
+            days.add(EventStatsResponse.Day.builder()
+                    .day(day)
+                    .participants(participants)
+                    .winners(winners)
+                    .remaining(remaining)
+                    .build());
+        }
+
+        return EventStatsResponse.builder()
+                .campaignKey(campaign.key())
+                .days(days)
+                .build();
+    }
+}
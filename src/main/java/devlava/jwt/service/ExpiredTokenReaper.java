@@ -0,0 +1,65 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.TokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 만료된 리프레시 토큰을 주기적으로 삭제합니다.
+ * 한 번에 chunk-size 만큼씩 각각의 트랜잭션으로 삭제하여 긴 락이나 큰 영속성 컨텍스트를 만들지 않습니다.
+ */
+@Slf4j
+@Service
+public class ExpiredTokenReaper {
+
+    private final TokenRepository tokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.token-reaper.chunk-size:1000}")
+    private int chunkSize;
+
+    public ExpiredTokenReaper(TokenRepository tokenRepository, TransactionTemplate transactionTemplate) {
+        this.tokenRepository = tokenRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 정리 1회 실행 결과
+     */
+    public record ReapResult(long reapedCount, Duration duration) {
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-reaper.interval:3600000}",
+            initialDelayString = "${jwt.token-reaper.interval:3600000}")
+    public void scheduledReap() {
+        ReapResult result = reapExpiredTokens();
+        log.info("만료 리프레시 토큰 정리 완료 - {}건, {}ms", result.reapedCount(), result.duration().toMillis());
+    }
+
+    public ReapResult reapExpiredTokens() {
+        long startNanos = System.nanoTime();
+        Instant now = Instant.now();
+        long total = 0;
+
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> expiredIds = tokenRepository.findExpiredIds(now, PageRequest.of(0, chunkSize));
+                return expiredIds.isEmpty() ? 0 : tokenRepository.deleteByIdIn(expiredIds);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            total += deleted;
+        }
+
+        return new ReapResult(total, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
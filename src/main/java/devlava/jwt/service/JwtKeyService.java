@@ -0,0 +1,228 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.SigningKey;
+import devlava.jwt.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * ES256 서명 키를 관리합니다.
+ * - 키는 DB 에 보관되어 모든 노드가 공유하며, rotation-interval 마다 새 키가 추가됩니다.
+ * - 새 키는 activation-delay 동안 JWKS 로만 공개된 뒤 서명에 사용되므로, 다른 노드와 외부 서비스가 미리 받아갈 수 있습니다.
+ *   activation-delay 는 JWKS 응답 캐시 시간(jwks-max-age)과 다른 노드의 갱신 주기(refresh-interval)의 합보다 짧을 수 없습니다.
+ * - 키마다 세대 번호가 있고 세대는 unique 이므로, 여러 노드가 동시에 키를 추가해도 한 세대에 키는 하나만 생깁니다.
+ * - 더 새로운 키로 교체된 키는 액세스 토큰 유효 시간이 지나면 삭제됩니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "jwt.signing-algorithm", havingValue = "ES256")
+public class JwtKeyService {
+
+    private static final String ALGORITHM = "ES256";
+
+    private final SigningKeyRepository signingKeyRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    @Value("${jwt.keys.rotation-interval:86400000}")
+    private long rotationInterval;
+
+    @Value("${jwt.keys.refresh-interval:60000}")
+    private long refreshInterval;
+
+    @Value("${jwt.keys.jwks-max-age:300000}")
+    private long jwksMaxAge;
+
+    @Value("${jwt.keys.activation-delay:600000}")
+    private long activationDelay;
+
+    private volatile KeySnapshot snapshot = KeySnapshot.EMPTY;
+
+    public JwtKeyService(SigningKeyRepository signingKeyRepository) {
+        this.signingKeyRepository = signingKeyRepository;
+    }
+
+    /**
+     * 현재 서명 키와 검증 키 목록 (불변)
+     */
+    public record KeySnapshot(String currentKid, PrivateKey currentKey, Map<String, PublicKey> verificationKeys,
+            List<Map<String, Object>> jwks) {
+        static final KeySnapshot EMPTY = new KeySnapshot(null, null, Map.of(), List.of());
+    }
+
+    @PostConstruct
+    public void init() {
+        // JWKS 를 캐시한 외부 서비스와 아직 갱신하지 않은 노드가 새 키를 받기 전에 서명하지 않도록 최소값 보장
+        long minimumDelay = jwksMaxAge + refreshInterval;
+        if (activationDelay < minimumDelay) {
+            log.warn("jwt.keys.activation-delay({}ms) 가 JWKS 캐시 시간 + 갱신 주기보다 짧아 {}ms 로 조정합니다.",
+                    activationDelay, minimumDelay);
+            activationDelay = minimumDelay;
+        }
+        refreshKeys();
+    }
+
+    /**
+     * DB 의 키 목록을 다시 읽고, 필요하면 새 키를 추가하거나 만료된 키를 삭제합니다.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:60000}")
+    public void refreshKeys() {
+        Instant now = Instant.now();
+        List<SigningKey> keys = new ArrayList<>(signingKeyRepository.findAllByOrderByActivatesAtAsc());
+
+        // 1. 교체된 지 액세스 토큰 유효 시간이 지난 키 삭제
+        for (int i = 0; i < keys.size() - 1; i++) {
+            Instant retiredAt = keys.get(i + 1).getActivatesAt();
+            if (retiredAt.plusMillis(jwtExpiration).isBefore(now)) {
+                signingKeyRepository.delete(keys.get(i));
+                keys.remove(i--);
+            }
+        }
+
+        // 2. 가장 최근 키가 rotation-interval 보다 오래되었으면 새 키 추가
+        SigningKey newest = keys.stream().max(Comparator.comparingLong(SigningKey::getGeneration)).orElse(null);
+        if (newest == null) {
+            // 첫 키는 이전 키로 서명된 토큰이 없으므로 바로 사용 (동시에 기동한 노드 중 한 노드의 키만 저장됨)
+            addKey(generateKey(0, now, now));
+            keys = signingKeyRepository.findAllByOrderByActivatesAtAsc();
+        } else if (!newest.getCreatedAt().plusMillis(rotationInterval).isAfter(now)) {
+            Instant activatesAt = now.plus(Duration.ofMillis(activationDelay));
+            if (addKey(generateKey(newest.getGeneration() + 1, now, activatesAt))) {
+                log.info("JWT 서명 키 교체 예약 - {} 부터 사용", activatesAt);
+            }
+            keys = signingKeyRepository.findAllByOrderByActivatesAtAsc();
+        }
+
+        this.snapshot = buildSnapshot(keys, now);
+    }
+
+    /**
+     * 키를 저장합니다. 다른 노드가 같은 세대의 키를 먼저 추가했으면 false 를 반환합니다.
+     */
+    private boolean addKey(SigningKey key) {
+        try {
+            signingKeyRepository.saveAndFlush(key);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    public KeySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public PublicKey getVerificationKey(String kid) {
+        return kid == null ? null : snapshot.verificationKeys().get(kid);
+    }
+
+    public List<Map<String, Object>> getJwks() {
+        return snapshot.jwks();
+    }
+
+    private KeySnapshot buildSnapshot(List<SigningKey> keys, Instant now) {
+        String currentKid = null;
+        PrivateKey currentKey = null;
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+
+        for (SigningKey key : keys) {
+            PublicKey publicKey = decodePublicKey(key.getPublicKey());
+            verificationKeys.put(key.getKid(), publicKey);
+            jwks.add(toJwk(key.getKid(), (ECPublicKey) publicKey));
+            // 활성화 시각이 지난 키 중 가장 최근 키로 서명
+            if (!key.getActivatesAt().isAfter(now)) {
+                currentKid = key.getKid();
+                currentKey = decodePrivateKey(key.getPrivateKey());
+            }
+        }
+
+        if (currentKey == null) {
+            // 모든 키가 아직 활성화 전이면 가장 오래된 키를 사용
+            SigningKey oldest = keys.get(0);
+            currentKid = oldest.getKid();
+            currentKey = decodePrivateKey(oldest.getPrivateKey());
+        }
+
+        return new KeySnapshot(currentKid, currentKey, Map.copyOf(verificationKeys), List.copyOf(jwks));
+    }
+
+    private SigningKey generateKey(long generation, Instant createdAt, Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+
+            SigningKey key = new SigningKey();
+            key.setKid(UUID.randomUUID().toString());
+            key.setGeneration(generation);
+            key.setAlgorithm(ALGORITHM);
+            key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            key.setCreatedAt(createdAt);
+            key.setActivatesAt(activatesAt);
+            return key;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키 생성에 실패했습니다.", e);
+        }
+    }
+
+    private PublicKey decodePublicKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("JWT 공개키를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private PrivateKey decodePrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("JWT 개인키를 읽을 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * RFC 7518 형식의 EC 공개키 JWK
+     */
+    private Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", encodeCoordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", encodeCoordinate(publicKey.getW().getAffineY()));
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    // 좌표를 부호 없는 32바이트 big-endian 으로 맞춘 뒤 Base64URL 인코딩
+    private String encodeCoordinate(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
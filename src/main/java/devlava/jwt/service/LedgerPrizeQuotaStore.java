@@ -0,0 +1,284 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.PrizeQuotaLedger;
+import devlava.jwt.repository.PrizeQuotaLedgerRepository;
+import devlava.jwt.repository.TbLmsEventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 노드에서 공유하는 DB 원장으로 당첨 인원을 관리합니다.
+ * 당첨 인원은 "UPDATE ... SET used = used + 1 WHERE used < limit" 한 번으로 확보하므로 SELECT count 후 INSERT 하는 경쟁 구간이 없습니다.
+ * UPDATE 는 당첨 내역 저장과 같은 트랜잭션에서 실행되므로 저장이 롤백되면 확보한 인원도 함께 취소됩니다.
+ * 원장은 하루 제한 인원으로만 만듭니다. 시간대별 허용 인원은 사용 인원 합과 따로 비교하므로 동시 요청 시 조금 넘을 수 있지만,
+ * 하루 제한 인원은 원장 UPDATE 로 항상 지켜집니다.
+ * 캠페인 설정이 바뀌어 제한 인원이 달라지면 원장 행을 잠그고 stripe 별 limit_count 를 다시 나눕니다.
+ * 원장 생성/크기 조정과 사용 인원 조회는 sync-interval 마다 요청 밖에서 실행하므로,
+ * 참여 요청은 원장 UPDATE 한 번 외에 쿼리를 실행하지 않고 (/check 는 쿼리 없음), 사용 인원은 최대 sync-interval 만큼 늦을 수 있습니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "event.quota.mode", havingValue = "ledger")
+public class LedgerPrizeQuotaStore implements PrizeQuotaStore {
+
+    private final PrizeQuotaLedgerRepository ledgerRepository;
+    private final TbLmsEventRepository eventRepository;
+    private final CampaignCatalog campaignCatalog;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${event.quota.stripes:4}")
+    private int stripes;
+
+    // 원장 stripe 수와 제한 인원 합, 마지막으로 읽은 사용 인원 (이 노드의 당첨은 바로 더함)
+    private record LedgerState(int stripeCount, int configuredLimit, int ledgerLimit, AtomicInteger used) {
+    }
+
+    private record LedgerShape(int stripeCount, int limit) {
+    }
+
+    // "캠페인:일자:등수" -> 원장 상태 (sync-interval 마다 갱신, 요청 처리 중에는 읽기만 함)
+    private final Map<String, LedgerState> ledgerStates = new ConcurrentHashMap<>();
+
+    // 모두 소진된 "캠페인:일자:등수" (캠페인 설정이 바뀌거나 원장 크기가 바뀔 때까지 원장 UPDATE 를 시도하지 않음)
+    private final Set<String> exhausted = ConcurrentHashMap.newKeySet();
+
+    // 마지막으로 원장을 맞춘 캠페인 설정 버전
+    private volatile long syncedCatalogVersion = -1;
+
+    public LedgerPrizeQuotaStore(PrizeQuotaLedgerRepository ledgerRepository,
+            TbLmsEventRepository eventRepository,
+            CampaignCatalog campaignCatalog,
+            PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.eventRepository = eventRepository;
+        this.campaignCatalog = campaignCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        syncLedgers();
+    }
+
+    @Override
+    public boolean tryReserve(String campaignKey, LocalDate day, int rank, int limit, int pacedLimit) {
+        String key = key(campaignKey, day, rank);
+        LedgerState state = ledgerStates.get(key);
+        // 원장이 아직 준비되지 않았으면 (캠페인 생성 직후 sync-interval 이내) 당첨 없음
+        if (state == null || exhausted.contains(key)) {
+            return false;
+        }
+        // 원장은 하루 제한 인원으로만 만들고, 시간대별 허용 인원은 사용한 인원과 따로 비교 (소진으로 표시하지 않음)
+        if (pacedLimit < limit && state.used().get() >= pacedLimit) {
+            return false;
+        }
+
+        // 임의의 stripe 부터 차례로 시도하여 잠금 경합을 분산
+        int start = ThreadLocalRandom.current().nextInt(state.stripeCount());
+        for (int i = 0; i < state.stripeCount(); i++) {
+            int stripe = (start + i) % state.stripeCount();
+            if (ledgerRepository.claim(campaignKey, day, rank, stripe) == 1) {
+                state.used().incrementAndGet();
+                return true;
+            }
+        }
+
+        exhausted.add(key);
+        return false;
+    }
+
+    @Override
+    public void releaseOnRollback(String campaignKey, LocalDate day, int rank) {
+        // 원장 UPDATE 가 저장 트랜잭션과 함께 롤백되므로 별도 처리 불필요
+        // (이 노드에서 더한 사용 인원은 다음 sync 때 원장 값으로 바로잡힘)
+    }
+
+    @Override
+    public boolean hasRemaining(String campaignKey, LocalDate day, int rank, int limit) {
+        String key = key(campaignKey, day, rank);
+        LedgerState state = ledgerStates.get(key);
+        return state != null && !exhausted.contains(key) && state.used().get() < state.ledgerLimit();
+    }
+
+    @Override
+    public int[] usedByRank(String campaignKey, LocalDate day) {
+        int[] used = new int[CampaignDefinition.MAX_RANK];
+        for (int rank = 1; rank <= CampaignDefinition.MAX_RANK; rank++) {
+            LedgerState state = ledgerStates.get(key(campaignKey, day, rank));
+            if (state != null) {
+                used[rank - 1] = state.used().get();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * 진행 중인 캠페인의 오늘/내일 원장을 만들거나 제한 인원에 맞춰 크기를 조정하고, 오늘 등수별 사용 인원을 다시 읽습니다.
+     * 요청 트랜잭션 밖 (기동 시, 스케줄러 스레드) 에서만 실행하므로 요청 하나가 연결을 두 개 잡는 일이 없습니다.
+     * 내일 원장을 미리 만들어 두므로 자정이 지나도 원장이 없는 구간이 생기지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${event.quota.sync-interval:1000}")
+    public void syncLedgers() {
+        long catalogVersion = campaignCatalog.version();
+        if (catalogVersion != syncedCatalogVersion) {
+            // 캠페인 설정이 바뀌면 제한 인원이 달라졌을 수 있으므로 소진 표시를 비움
+            exhausted.clear();
+        }
+
+        LocalDate today = LocalDate.now();
+        Set<String> activeKeys = new HashSet<>();
+        for (CampaignDefinition campaign : campaignCatalog.findAll()) {
+            for (LocalDate day : List.of(today, today.plusDays(1))) {
+                if (!campaign.isOpen(day)) {
+                    continue;
+                }
+                try {
+                    syncCampaignDay(campaign, day, catalogVersion, activeKeys);
+                } catch (RuntimeException e) {
+                    // 다음 주기에 다시 시도 (그동안 기존 원장 상태를 계속 사용)
+                    log.warn("당첨 인원 원장 동기화 실패 - campaign={}, day={}", campaign.key(), day, e);
+                }
+            }
+        }
+
+        // 기간이 끝난 캠페인과 지난 일자의 상태는 정리
+        ledgerStates.keySet().retainAll(activeKeys);
+        exhausted.retainAll(activeKeys);
+        syncedCatalogVersion = catalogVersion;
+    }
+
+    private void syncCampaignDay(CampaignDefinition campaign, LocalDate day, long catalogVersion,
+            Set<String> activeKeys) {
+        for (int rank = 1; rank <= campaign.rankCount(); rank++) {
+            String key = key(campaign.key(), day, rank);
+            int limit = campaign.limit(day, rank);
+            LedgerState state = ledgerStates.get(key);
+            if (state == null || state.configuredLimit() != limit) {
+                LedgerShape shape = prepareLedger(campaign.key(), day, rank, limit, catalogVersion);
+                ledgerStates.put(key, new LedgerState(shape.stripeCount(), limit, shape.limit(), new AtomicInteger()));
+                exhausted.remove(key);
+            }
+            activeKeys.add(key);
+        }
+
+        // 다른 노드의 당첨과 롤백된 당첨을 반영하도록 사용 인원을 원장 값으로 맞춤
+        for (PrizeQuotaLedgerRepository.RankUsage usage : ledgerRepository.sumUsedGroupByRank(campaign.key(), day)) {
+            LedgerState state = ledgerStates.get(key(campaign.key(), day, usage.getRank()));
+            if (state != null) {
+                state.used().set((int) usage.getUsed());
+            }
+        }
+    }
+
+    /**
+     * 해당 캠페인/일자/등수의 원장 행이 없으면 생성하고, 제한 인원이 바뀌었으면 원장 크기를 맞춥니다.
+     */
+    private LedgerShape prepareLedger(String campaignKey, LocalDate day, int rank, int limit, long catalogVersion) {
+        if (ledgerRepository.countByCampaignKeyAndEventDayAndRank(campaignKey, day, rank) == 0) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> createLedger(campaignKey, day, rank, limit, catalogVersion));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 생성한 경우
+            }
+        }
+
+        try {
+            return transactionTemplate.execute(status -> resizeLedger(campaignKey, day, rank, limit, catalogVersion));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 stripe 를 추가한 경우 - 추가된 행 기준으로 다시 맞춤
+            return transactionTemplate.execute(status -> resizeLedger(campaignKey, day, rank, limit, catalogVersion));
+        }
+    }
+
+    /**
+     * 원장의 제한 인원 합이 캠페인 설정과 다르면 원장 행을 잠그고 맞춥니다.
+     * - 남은 인원(제한 인원 - 사용 인원 합)을 stripe 별로 다시 나누므로 늘리거나 줄이는 경우 모두 사용 인원은 유지됩니다.
+     * - stripe 수가 설정보다 적으면 (처음 제한 인원이 작았던 경우) 행을 추가합니다.
+     * - 원장보다 오래된 설정 버전으로는 바꾸지 않으므로, 아직 새 설정을 반영하지 못한 노드가 원장을 되돌리지 않습니다.
+     */
+    private LedgerShape resizeLedger(String campaignKey, LocalDate day, int rank, int limit, long catalogVersion) {
+        List<PrizeQuotaLedger> rows = new ArrayList<>(ledgerRepository.findForUpdate(campaignKey, day, rank));
+        int currentLimit = rows.stream().mapToInt(PrizeQuotaLedger::getLimitCount).sum();
+        long ledgerVersion = rows.stream().mapToLong(PrizeQuotaLedger::getCatalogVersion).max().orElse(0);
+        if (currentLimit == limit || catalogVersion < ledgerVersion) {
+            return new LedgerShape(rows.size(), currentLimit);
+        }
+
+        int stripeCount = Math.max(rows.size(), Math.max(1, Math.min(stripes, limit)));
+        for (int stripe = rows.size(); stripe < stripeCount; stripe++) {
+            rows.add(PrizeQuotaLedger.builder()
+                    .campaignKey(campaignKey)
+                    .eventDay(day)
+                    .rank(rank)
+                    .stripe(stripe)
+                    .used(0)
+                    .limitCount(0)
+                    .build());
+        }
+
+        int used = rows.stream().mapToInt(PrizeQuotaLedger::getUsed).sum();
+        int remaining = Math.max(0, limit - used);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            PrizeQuotaLedger row = rows.get(stripe);
+            row.setLimitCount(row.getUsed() + remaining / stripeCount + (stripe < remaining % stripeCount ? 1 : 0));
+            row.setCatalogVersion(catalogVersion);
+        }
+        ledgerRepository.saveAllAndFlush(rows);
+        return new LedgerShape(stripeCount, limit);
+    }
+
+    /**
+     * 제한 인원을 stripe 수만큼 나누어 원장 행을 만듭니다. 이미 당첨된 인원은 앞 stripe 부터 채웁니다.
+     */
+    private void createLedger(String campaignKey, LocalDate day, int rank, int limit, long catalogVersion) {
+        int stripeCount = Math.max(1, Math.min(stripes, limit));
+        Date startOfDay = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date endOfDay = Date.from(day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        int alreadyUsed = eventRepository.countByCreateDtBetweenGroupByRank(campaignKey, startOfDay, endOfDay).stream()
+                .filter(rankCount -> rankCount.getRank() == rank)
+                .mapToInt(rankCount -> (int) rankCount.getCount())
+                .findFirst()
+                .orElse(0);
+
+        List<PrizeQuotaLedger> rows = new ArrayList<>(stripeCount);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            int stripeLimit = limit / stripeCount + (stripe < limit % stripeCount ? 1 : 0);
+            int used = Math.min(stripeLimit, alreadyUsed);
+            alreadyUsed -= used;
+            rows.add(PrizeQuotaLedger.builder()
+                    .campaignKey(campaignKey)
+                    .eventDay(day)
+                    .rank(rank)
+                    .stripe(stripe)
+                    .used(used)
+                    .limitCount(stripeLimit)
+                    .catalogVersion(catalogVersion)
+                    .build());
+        }
+        ledgerRepository.saveAllAndFlush(rows);
+    }
+
+    private String key(String campaignKey, LocalDate day, int rank) {
+        return campaignKey + ":" + day + ":" + rank;
+    }
+}
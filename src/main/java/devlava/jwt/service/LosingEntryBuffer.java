@@ -0,0 +1,164 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.Member;
+import devlava.jwt.entity.TbLmsEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 미당첨 참여 내역을 모아 두었다가 JDBC batch insert 로 저장합니다. (write-behind)
+ * - batch-size 만큼 쌓이면 바로, 그렇지 않으면 flush-interval 마다 저장합니다.
+ * - 버퍼는 capacity 로 크기가 제한되며, 가득 차면 enqueue 가 false 를 반환하므로 호출한 쪽에서 직접 저장합니다.
+ * - ID 는 pooled 시퀀스로 미리 할당받고 Member 는 프록시 참조만 사용하므로, 한 건당 SELECT 없이 INSERT 만 실행됩니다.
+ * 저장 전에 프로세스가 비정상 종료되면 버퍼에 남은 미당첨 내역은 유실됩니다. (당첨 내역은 항상 즉시 저장)
+ * 다른 노드에서 같은 날 먼저 저장된 참여가 있으면 unique 제약에 걸린 건만 버립니다.
+ */
+@Slf4j
+@Service
+public class LosingEntryBuffer {
+
+    private record PendingEntry(String campaignKey, String memberId, Date createDt) {
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final EventStatsService eventStatsService;
+    private final BlockingQueue<PendingEntry> queue;
+    private final int batchSize;
+
+    // 크기 기준 flush 실행용 (요청 스레드가 저장 비용을 부담하지 않도록 별도 스레드에서 실행)
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "losing-entry-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LosingEntryBuffer(TransactionTemplate transactionTemplate,
+            EventStatsService eventStatsService,
+            @Value("${event.write-behind.capacity:10000}") int capacity,
+            @Value("${event.write-behind.batch-size:500}") int batchSize) {
+        this.transactionTemplate = transactionTemplate;
+        this.eventStatsService = eventStatsService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 미당첨 내역을 버퍼에 추가합니다. 버퍼가 가득 찼으면 false 를 반환합니다.
+     */
+    public boolean enqueue(String campaignKey, String memberId, Date createDt) {
+        if (!queue.offer(new PendingEntry(campaignKey, memberId, createDt))) {
+            return false;
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${event.write-behind.flush-interval:200}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 버퍼에 쌓인 내역을 batch-size 단위 트랜잭션으로 모두 저장합니다.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<PendingEntry> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                persistBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void persistBatch(List<PendingEntry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch.forEach(this::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            batch.forEach(this::recordStats);
+        } catch (RuntimeException e) {
+            // 한 건 때문에 batch 전체가 실패한 경우 (예: 탈퇴한 회원) 건별로 다시 저장
+            log.warn("미당첨 내역 batch 저장 실패 - 건별 저장으로 재시도 ({}건)", batch.size(), e);
+            for (PendingEntry entry : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(entry));
+                    recordStats(entry);
+                } catch (DataIntegrityViolationException duplicate) {
+                    if (!EventService.isDuplicateParticipation(duplicate)) {
+                        log.error("미당첨 내역 저장 실패 - campaign={}, memberId={}", entry.campaignKey(),
+                                entry.memberId(), duplicate);
+                        continue;
+                    }
+                    // 다른 노드에서 같은 날 이미 참여한 회원 (하루 한 번 참여 제약) - 저장하지 않음
+                    log.info("미당첨 내역 중복 참여로 저장하지 않음 - campaign={}, memberId={}", entry.campaignKey(),
+                            entry.memberId());
+                } catch (RuntimeException retryFailure) {
+                    log.error("미당첨 내역 저장 실패 - campaign={}, memberId={}", entry.campaignKey(), entry.memberId(),
+                            retryFailure);
+                }
+            }
+        }
+    }
+
+    private void recordStats(PendingEntry entry) {
+        LocalDate day = entry.createDt().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        eventStatsService.record(entry.campaignKey(), day, 0);
+    }
+
+    private void persist(PendingEntry entry) {
+        entityManager.persist(TbLmsEvent.builder()
+                .campaignKey(entry.campaignKey())
+                .member(entityManager.getReference(Member.class, entry.memberId()))
+                .draw(false)
+                .rank(0)
+                .createDt(entry.createDt())
+                .build());
+    }
+}
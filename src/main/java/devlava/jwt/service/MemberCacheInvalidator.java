@@ -0,0 +1,71 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.MemberCacheVersion;
+import devlava.jwt.repository.MemberCacheVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 회원 변경 시 로컬 캐시를 비우고, 버전 카운터를 올려 다른 노드에도 변경을 알립니다.
+ * 각 노드는 버전 카운터 한 행만 주기적으로 조회하므로 요청마다 DB 를 조회하지 않습니다.
+ */
+@Service
+public class MemberCacheInvalidator {
+
+    private final MemberCacheVersionRepository versionRepository;
+    private final CachingUserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+
+    private volatile long lastSeenVersion;
+
+    public MemberCacheInvalidator(MemberCacheVersionRepository versionRepository,
+            CachingUserDetailsService userDetailsService,
+            TokenVersionService tokenVersionService) {
+        this.versionRepository = versionRepository;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersionService = tokenVersionService;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!versionRepository.existsById(MemberCacheVersion.SINGLETON_ID)) {
+            try {
+                versionRepository.save(new MemberCacheVersion(MemberCacheVersion.SINGLETON_ID, 0L));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 노드가 먼저 생성한 경우
+            }
+        }
+        lastSeenVersion = currentVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.username() != null) {
+            userDetailsService.evict(event.username());
+        }
+        // 로컬 버전은 갱신하지 않음 - 다음 폴링에서 다른 노드의 변경과 함께 반영
+        versionRepository.incrementVersion(MemberCacheVersion.SINGLETON_ID);
+    }
+
+    /**
+     * 버전 카운터가 바뀌었으면 다른 노드(또는 자신)에서 회원이 변경된 것이므로 캐시를 모두 비웁니다.
+     */
+    @Scheduled(fixedDelayString = "${member.user-cache.poll-interval:5000}")
+    public void pollVersion() {
+        long version = currentVersion();
+        if (version != lastSeenVersion) {
+            userDetailsService.evictAll();
+            tokenVersionService.reload();
+            lastSeenVersion = version;
+        }
+    }
+
+    private long currentVersion() {
+        return versionRepository.findVersionById(MemberCacheVersion.SINGLETON_ID).orElse(0L);
+    }
+}
@@ -0,0 +1,10 @@
+package devlava.jwt.service;
+
+/**
+ * 회원 정보(권한, 토큰 버전 등)가 변경되었음을 알리는 이벤트
+ *
+ * @param memberId 변경된 회원 ID
+ * @param username 변경된 회원의 username (알 수 없으면 null)
+ */
+public record MemberChangedEvent(String memberId, String username) {
+}
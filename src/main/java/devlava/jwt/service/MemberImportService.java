@@ -0,0 +1,291 @@
+package devlava.jwt.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import devlava.jwt.dto.AuthRequest;
+import devlava.jwt.dto.MemberImportResponse;
+import devlava.jwt.entity.Member;
+import devlava.jwt.entity.Role;
+import devlava.jwt.entity.Role.RoleType;
+import devlava.jwt.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 회원 일괄 등록
+ * 요청 본문을 한 줄씩 읽어 chunk-size 단위로 처리합니다.
+ * 청크마다 중복 확인은 IN 쿼리 두 번으로 끝내고, 등록은 JDBC batch insert 로 수행합니다.
+ */
+@Service
+public class MemberImportService {
+
+    public enum Format {
+        CSV,   // id,username,name,roleName (RFC 4180, 첫 줄이 id 로 시작하면 헤더로 간주)
+        NDJSON // 한 줄에 하나의 AuthRequest JSON
+    }
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${member.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public MemberImportService(MemberRepository memberRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper) {
+        this.memberRepository = memberRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    public MemberImportResponse importMembers(InputStream body, Format format) throws IOException {
+        long imported = 0;
+        long duplicates = 0;
+        long invalid = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<AuthRequest> chunk = new ArrayList<>(chunkSize);
+            String line;
+            boolean firstLine = true;
+
+            while ((line = reader.readLine()) != null) {
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                if (firstLine && format == Format.CSV && line.trim().toLowerCase(Locale.ROOT).startsWith("id,")) {
+                    firstLine = false;
+                    continue;
+                }
+                firstLine = false;
+
+                AuthRequest request = parseLine(line, reader, format);
+                if (request == null) {
+                    invalid++;
+                    continue;
+                }
+                chunk.add(request);
+
+                if (chunk.size() >= chunkSize) {
+                    ChunkResult result = importChunk(chunk);
+                    imported += result.imported();
+                    duplicates += result.duplicates();
+                    invalid += result.invalid();
+                    chunk.clear();
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                ChunkResult result = importChunk(chunk);
+                imported += result.imported();
+                duplicates += result.duplicates();
+                invalid += result.invalid();
+            }
+        }
+
+        if (imported > 0) {
+            // 회원 캐시 무효화 (다른 노드 포함)
+            eventPublisher.publishEvent(new MemberChangedEvent(null, null));
+        }
+
+        return MemberImportResponse.builder()
+                .imported(imported)
+                .duplicates(duplicates)
+                .invalid(invalid)
+                .build();
+    }
+
+    private record ChunkResult(int imported, int duplicates, int invalid) {
+    }
+
+    /**
+     * 청크 하나를 별도 트랜잭션으로 등록합니다.
+     * 중복 조회와 INSERT 사이에 다른 가입/일괄 등록이 같은 ID 나 username 을 먼저 저장하면 청크 전체가 롤백되므로,
+     * 한 건씩 다시 등록하고 제약 위반이 난 행은 중복으로 셉니다. (앞서 커밋된 청크는 그대로 유지)
+     */
+    private ChunkResult importChunk(List<AuthRequest> chunk) {
+        try {
+            return transactionTemplate.execute(status -> insertChunk(chunk));
+        } catch (DataIntegrityViolationException e) {
+            int imported = 0;
+            int duplicates = 0;
+            int invalid = 0;
+            for (AuthRequest request : chunk) {
+                try {
+                    ChunkResult result = transactionTemplate.execute(status -> insertChunk(List.of(request)));
+                    imported += result.imported();
+                    duplicates += result.duplicates();
+                    invalid += result.invalid();
+                } catch (DataIntegrityViolationException duplicate) {
+                    duplicates++;
+                }
+            }
+            return new ChunkResult(imported, duplicates, invalid);
+        }
+    }
+
+    private ChunkResult insertChunk(List<AuthRequest> chunk) {
+        Set<String> ids = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (AuthRequest request : chunk) {
+            ids.add(request.getId());
+            usernames.add(request.getUsername());
+        }
+
+        // 1. 이미 등록된 ID / username 을 한 번에 조회
+        Set<String> takenIds = new HashSet<>(memberRepository.findExistingIds(ids));
+        Set<String> takenUsernames = new HashSet<>(memberRepository.findExistingUsernames(usernames));
+
+        int imported = 0;
+        int duplicates = 0;
+        int invalid = 0;
+
+        for (AuthRequest request : chunk) {
+            // 2. 잘못된 행은 ID / username 을 차지하지 않도록 먼저 검증
+            Member member = toMember(request);
+            if (member == null) {
+                invalid++;
+                continue;
+            }
+
+            // 3. DB 및 같은 청크 안의 중복 제외
+            if (takenIds.contains(request.getId()) || takenUsernames.contains(request.getUsername())) {
+                duplicates++;
+                continue;
+            }
+            takenIds.add(request.getId());
+            takenUsernames.add(request.getUsername());
+
+            // 4. ID 가 지정되어 있으므로 merge(SELECT) 없이 persist
+            entityManager.persist(member);
+            imported++;
+        }
+
+        // 제약 위반이 DataIntegrityViolationException 으로 변환되도록 repository 를 통해 flush
+        memberRepository.flush();
+        entityManager.clear();
+        return new ChunkResult(imported, duplicates, invalid);
+    }
+
+    private AuthRequest parseLine(String line, BufferedReader reader, Format format) throws IOException {
+        AuthRequest request;
+        if (format == Format.NDJSON) {
+            try {
+                request = objectMapper.readValue(line, AuthRequest.class);
+            } catch (IOException e) {
+                return null;
+            }
+        } else {
+            List<String> columns = readCsvRecord(line, reader);
+            if (columns == null || columns.size() < 2) {
+                return null;
+            }
+            request = new AuthRequest();
+            request.setId(columns.get(0).trim());
+            request.setUsername(columns.get(1).trim());
+            request.setName(columns.size() > 2 ? columns.get(2).trim() : null);
+            request.setRoleName(columns.size() > 3 ? columns.get(3).trim() : null);
+        }
+
+        if (!StringUtils.hasText(request.getId()) || !StringUtils.hasText(request.getUsername())) {
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * RFC 4180 CSV 레코드 하나를 필드로 나눕니다.
+     * 큰따옴표로 감싼 필드 안의 쉼표와 줄바꿈, "" (큰따옴표 한 개) 를 지원하며, 따옴표가 닫히지 않은 채 줄이 끝나면 다음 줄을 이어서 읽습니다.
+     * 닫는 따옴표 뒤에 다른 문자가 있거나 파일 끝까지 따옴표가 닫히지 않으면 null 입니다.
+     */
+    static List<String> readCsvRecord(String line, BufferedReader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean afterClosingQuote = false;
+        String current = line;
+        int i = 0;
+
+        while (true) {
+            if (i == current.length()) {
+                if (!inQuotes) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                // 따옴표 안의 줄바꿈 - 다음 줄을 같은 필드로 이어서 읽음
+                current = reader.readLine();
+                if (current == null) {
+                    return null;
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = current.charAt(i++);
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < current.length() && current.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                    afterClosingQuote = true;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterClosingQuote = false;
+            } else if (afterClosingQuote) {
+                if (c != ' ') {
+                    return null;
+                }
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                inQuotes = true;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private Member toMember(AuthRequest request) {
+        Member member = new Member();
+        member.setId(request.getId());
+        member.setUsername(request.getUsername());
+        member.setName(request.getName());
+
+        if (StringUtils.hasText(request.getRoleName())) {
+            try {
+                RoleType roleType = RoleType.valueOf(request.getRoleName().toUpperCase());
+                Role role = new Role();
+                role.setId(request.getId());
+                role.setRoleName(roleType);
+                role.setMember(member);
+                member.setRole(role);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return member;
+    }
+}
@@ -0,0 +1,121 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.TbLmsEventRepository;
+import devlava.jwt.repository.TbLmsEventRepository.RankCount;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 캠페인/일자/등수별 당첨 인원을 메모리에서 관리합니다.
+ * 당첨 인원은 compare-and-set 으로 예약하므로 동시에 요청이 몰려도 제한 인원을 넘지 않으며, 당첨 처리 시 count 쿼리가 필요 없습니다.
+ * 캠페인/일자별 카운터는 그날 처음 사용할 때 DB 에서 한 번 읽어 초기화합니다.
+ * 노드 하나에서만 유효하므로 여러 노드로 운영할 때는 LedgerPrizeQuotaStore 를 사용합니다.
+ */
+@Service
+@ConditionalOnProperty(name = "event.quota.mode", havingValue = "memory", matchIfMissing = true)
+public class PrizeQuotaService implements PrizeQuotaStore {
+
+    private final TbLmsEventRepository repository;
+
+    private record CampaignDay(String campaignKey, LocalDate day) {
+    }
+
+    // 캠페인/일자 -> 등수별 당첨 인원 (index = rank - 1)
+    private final Map<CampaignDay, AtomicIntegerArray> usedByDay = new ConcurrentHashMap<>();
+
+    public PrizeQuotaService(TbLmsEventRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public boolean tryReserve(String campaignKey, LocalDate day, int rank, int limit, int pacedLimit) {
+        AtomicIntegerArray used = countersFor(campaignKey, day);
+        int index = rank - 1;
+        int allowed = Math.min(limit, pacedLimit);
+        while (true) {
+            int current = used.get(index);
+            if (current >= allowed) {
+                return false;
+            }
+            if (used.compareAndSet(index, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 예약한 당첨 인원을 반환합니다. (저장 실패 시)
+     */
+    public void release(String campaignKey, LocalDate day, int rank) {
+        AtomicIntegerArray used = usedByDay.get(new CampaignDay(campaignKey, day));
+        if (used != null) {
+            used.getAndUpdate(rank - 1, current -> Math.max(0, current - 1));
+        }
+    }
+
+    @Override
+    public void releaseOnRollback(String campaignKey, LocalDate day, int rank) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(campaignKey, day, rank);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean hasRemaining(String campaignKey, LocalDate day, int rank, int limit) {
+        return countersFor(campaignKey, day).get(rank - 1) < limit;
+    }
+
+    @Override
+    public int[] usedByRank(String campaignKey, LocalDate day) {
+        AtomicIntegerArray used = countersFor(campaignKey, day);
+        int[] result = new int[used.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = used.get(i);
+        }
+        return result;
+    }
+
+    private AtomicIntegerArray countersFor(String campaignKey, LocalDate day) {
+        CampaignDay key = new CampaignDay(campaignKey, day);
+        AtomicIntegerArray used = usedByDay.get(key);
+        if (used != null) {
+            return used;
+        }
+        // 날짜가 바뀌면 지난 일자의 카운터는 정리
+        usedByDay.keySet().removeIf(existing -> existing.day().isBefore(day.minusDays(1)));
+        return usedByDay.computeIfAbsent(key, this::loadFromDatabase);
+    }
+
+    private AtomicIntegerArray loadFromDatabase(CampaignDay key) {
+        LocalDate day = key.day();
+        Date startOfDay = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        Date endOfDay = Date.from(day.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        AtomicIntegerArray used = new AtomicIntegerArray(CampaignDefinition.MAX_RANK);
+        List<RankCount> rankCounts = repository.countByCreateDtBetweenGroupByRank(key.campaignKey(), startOfDay, endOfDay);
+        for (RankCount rankCount : rankCounts) {
+            if (rankCount.getRank() <= CampaignDefinition.MAX_RANK) {
+                used.set(rankCount.getRank() - 1, (int) rankCount.getCount());
+            }
+        }
+        return used;
+    }
+}
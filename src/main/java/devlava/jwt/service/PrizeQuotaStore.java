@@ -0,0 +1,34 @@
+package devlava.jwt.service;
+
+import java.time.LocalDate;
+
+/**
+ * 캠페인/일자/등수별 당첨 인원 관리
+ * - memory : 단일 노드용, 메모리 카운터 (PrizeQuotaService)
+ * - ledger : 여러 노드용, DB 원장 조건부 UPDATE (LedgerPrizeQuotaStore)
+ * event.quota.mode 설정으로 선택합니다.
+ */
+public interface PrizeQuotaStore {
+
+    /**
+     * 해당 캠페인/일자/등수의 당첨 인원을 하나 예약합니다.
+     * 하루 제한 인원(limit) 또는 현재 시간대까지 허용된 인원(pacedLimit)에 도달했으면 false 를 반환합니다.
+     * 하루 제한 인원만 소진으로 취급하며, 시간대 몫이 찬 경우는 이후 시간대에 다시 예약할 수 있습니다.
+     */
+    boolean tryReserve(String campaignKey, LocalDate day, int rank, int limit, int pacedLimit);
+
+    /**
+     * 현재 트랜잭션이 롤백되면 예약을 반환하도록 등록합니다.
+     */
+    void releaseOnRollback(String campaignKey, LocalDate day, int rank);
+
+    /**
+     * 해당 캠페인/일자/등수에 남은 당첨 인원이 있는지 확인합니다.
+     */
+    boolean hasRemaining(String campaignKey, LocalDate day, int rank, int limit);
+
+    /**
+     * 해당 캠페인/일자의 등수별 당첨 인원 (index = rank - 1, 길이 CampaignDefinition.MAX_RANK) 을 반환합니다.
+     */
+    int[] usedByRank(String campaignKey, LocalDate day);
+}
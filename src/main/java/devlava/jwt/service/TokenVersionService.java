@@ -0,0 +1,61 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.MemberRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원별 토큰 버전을 관리합니다.
+ * 토큰을 폐기한 적이 있는 회원의 버전만 메모리에 보관하므로 요청마다 DB 조회 없이 폐기 여부를 확인할 수 있습니다.
+ */
+@Service
+public class TokenVersionService {
+
+    private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // memberId -> 현재 토큰 버전 (버전 0 인 회원은 보관하지 않음)
+    private final Map<String, Integer> tokenVersions = new ConcurrentHashMap<>();
+
+    public TokenVersionService(MemberRepository memberRepository, ApplicationEventPublisher eventPublisher) {
+        this.memberRepository = memberRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void reload() {
+        Map<String, Integer> loaded = new ConcurrentHashMap<>();
+        memberRepository.findRevokedTokenVersions()
+                .forEach(version -> loaded.put(version.getId(), version.getTokenVersion()));
+        tokenVersions.keySet().retainAll(loaded.keySet());
+        tokenVersions.putAll(loaded);
+    }
+
+    public int getTokenVersion(String memberId) {
+        return tokenVersions.getOrDefault(memberId, 0);
+    }
+
+    /**
+     * 토큰에 담긴 버전이 회원의 현재 버전 이상이면 유효한 토큰입니다.
+     */
+    public boolean isCurrent(String memberId, int tokenVersion) {
+        return tokenVersion >= getTokenVersion(memberId);
+    }
+
+    /**
+     * 회원에게 발급된 모든 액세스 토큰을 폐기합니다.
+     */
+    @Transactional
+    public void revoke(String memberId) {
+        memberRepository.incrementTokenVersion(memberId);
+        memberRepository.findTokenVersionById(memberId)
+                .ifPresent(version -> tokenVersions.put(memberId, version));
+        // 다른 노드에도 폐기 사실을 전파
+        eventPublisher.publishEvent(new MemberChangedEvent(memberId, null));
+    }
+}
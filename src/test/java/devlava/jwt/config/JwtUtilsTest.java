@@ -0,0 +1,72 @@
+package devlava.jwt.config;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", "test-secret-key-must-be-at-least-32-characters");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpiration", 600000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtils, "claimsCacheMaxSize", 100L);
+        jwtUtils.init();
+    }
+
+    @Test
+    @DisplayName("정상 토큰은 검증 후 Claims 를 반환")
+    void getVerifiedClaims_1() {
+        // given
+        String token = jwtUtils.generateToken("lava");
+
+        // when
+        Optional<Claims> claims = jwtUtils.getVerifiedClaims(token);
+
+        // then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("lava");
+        assertThat(jwtUtils.validateToken(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 토큰 재검증 시 캐시된 Claims 사용")
+    void getVerifiedClaims_2() {
+        // given
+        String token = jwtUtils.generateToken("lava");
+        Claims first = jwtUtils.getVerifiedClaims(token).orElseThrow();
+
+        // when
+        Claims second = jwtUtils.getVerifiedClaims(token).orElseThrow();
+
+        // then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("서명이 변조된 토큰은 거부")
+    void getVerifiedClaims_3() {
+        // given
+        String token = jwtUtils.generateToken("lava");
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replaced + token.substring(signatureStart + 1);
+
+        // when
+        Optional<Claims> claims = jwtUtils.getVerifiedClaims(tampered);
+
+        // then
+        assertThat(claims).isNotPresent();
+        assertThat(jwtUtils.validateToken(tampered)).isFalse();
+    }
+}
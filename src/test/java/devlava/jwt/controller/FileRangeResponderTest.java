@@ -0,0 +1,111 @@
+package devlava.jwt.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileRangeResponderTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "\"abc\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Range 가 없으면 전체를 200 으로 응답")
+    void write_1() throws Exception {
+        // when
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/"));
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("단일 구간은 206 과 Content-Range 로 해당 구간만 응답")
+    void write_2() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        // when
+        MockHttpServletResponse response = write(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+    }
+
+    @Test
+    @DisplayName("여러 구간은 multipart/byteranges 로 응답")
+    void write_3() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,-2");
+
+        // when
+        MockHttpServletResponse response = write(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.getContentAsString())
+                .contains("Content-Range: bytes 0-1/20\r\n\r\n01")
+                .contains("Content-Range: bytes 18-19/20\r\n\r\nij");
+        assertThat(response.getContentAsByteArray()).hasSize((int) response.getContentLengthLong());
+    }
+
+    @Test
+    @DisplayName("If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 응답")
+    void write_4() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+        // when
+        MockHttpServletResponse response = write(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    @DisplayName("파일 범위를 벗어난 구간은 416")
+    void write_5() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+
+        // when
+        MockHttpServletResponse response = write(request);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("file.bin"), CONTENT, StandardCharsets.US_ASCII);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FileRangeResponder.write(request, response, file, Files.size(file), ETAG, LAST_MODIFIED,
+                MediaType.APPLICATION_OCTET_STREAM, "attachment");
+        return response;
+    }
+}
@@ -0,0 +1,267 @@
+package devlava.jwt.load;
+
+import devlava.jwt.config.JwtUtils;
+import devlava.jwt.dto.CampaignRequest;
+import devlava.jwt.entity.Member;
+import devlava.jwt.service.CampaignService;
+import devlava.jwt.service.LosingEntryBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이벤트 오픈 직후 트래픽 재현용 부하 테스트
+ * 인메모리 H2 로 애플리케이션을 띄우고, 회원마다 유효한 JWT 로 /api/event/save, /api/event/check 를 동시에 호출합니다.
+ * 지연 시간 백분위와 처리량을 출력하고, 종료 후 당첨/참여 불변 조건을 DB 에서 확인합니다.
+ * 기본 test 태스크에서는 제외됩니다. (./gradlew loadTest -Dload.members=10000 -Dload.concurrency=2000)
+ * 이 클래스는 단일 노드 설정 (메모리 카운터, 하루 전체를 허용하는 pacing-window) 이며,
+ * 원장 모드와 기본 pacing-window 는 LedgerEventFlashCrowdLoadTest 에서 실행합니다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false",
+        "jwt.stateless=true",
+        "event.draw.pacing-window=86400000"
+})
+class EventFlashCrowdLoadTest {
+
+    private static final String CAMPAIGN_KEY = "load-test";
+    private static final int FIRST_PRIZE_LIMIT = 5;
+    private static final int SECOND_PRIZE_LIMIT = 20;
+
+    // 회원 수, 회원당 save/check 호출 수, 동시 요청 수
+    private static final int MEMBERS = Integer.getInteger("load.members", 5_000);
+    private static final int SAVES_PER_MEMBER = 2;
+    private static final int CHECKS_PER_MEMBER = 2;
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CampaignService campaignService;
+
+    @Autowired
+    private LosingEntryBuffer losingEntryBuffer;
+
+    @Test
+    @DisplayName("동시 참여 시 중복 당첨, 당일 중복 참여, 등수별 인원 초과가 없음")
+    void flashCrowd() throws Exception {
+        // given
+        LocalDate today = LocalDate.now();
+        createCampaign(today);
+        campaignCreated();
+        List<String> tokens = createMembers();
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LatencyRecorder saveLatency = new LatencyRecorder();
+        LatencyRecorder checkLatency = new LatencyRecorder();
+        AtomicLong failures = new AtomicLong();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        List<Runnable> calls = new ArrayList<>();
+        for (String token : tokens) {
+            for (int i = 0; i < SAVES_PER_MEMBER; i++) {
+                calls.add(() -> call(client, saveRequest(token), saveLatency, failures));
+            }
+            for (int i = 0; i < CHECKS_PER_MEMBER; i++) {
+                calls.add(() -> call(client, checkRequest(token), checkLatency, failures));
+            }
+        }
+
+        // when
+        long start = System.nanoTime();
+        ExecutorService executor = newVirtualThreadExecutor();
+        try {
+            for (Runnable call : calls) {
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        call.run();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - start;
+        losingEntryBuffer.flush();
+
+        // then
+        System.out.printf("요청 %,d건, %.1f초, 처리량 %,.0f req/s, 실패 %d건%n", calls.size(), elapsedNanos / 1e9,
+                calls.size() / (elapsedNanos / 1e9), failures.get());
+        saveLatency.print("save");
+        checkLatency.print("check");
+
+        assertThat(failures.get()).isZero();
+
+        // 1. 같은 회원이 두 번 당첨되지 않음
+        assertThat(jdbcTemplate.queryForList("""
+                select member_id from TB_LMS_EVENT
+                where campaign_key = ? and draw = true
+                group by member_id having count(*) > 1
+                """, String.class, CAMPAIGN_KEY)).isEmpty();
+
+        // 2. 같은 회원이 하루에 두 번 참여하지 않음
+        assertThat(jdbcTemplate.queryForList("""
+                select member_id from TB_LMS_EVENT
+                where campaign_key = ?
+                group by member_id, cast(CREATE_DT as date) having count(*) > 1
+                """, String.class, CAMPAIGN_KEY)).isEmpty();
+
+        // 3. 일자별 등수별 당첨 인원이 제한을 넘지 않음
+        List<Map<String, Object>> winners = jdbcTemplate.queryForList("""
+                select cast(CREATE_DT as date) as event_day, rank, count(*) as winners from TB_LMS_EVENT
+                where campaign_key = ? and draw = true
+                group by cast(CREATE_DT as date), rank
+                """, CAMPAIGN_KEY);
+        for (Map<String, Object> row : winners) {
+            int rank = ((Number) row.get("RANK")).intValue();
+            long count = ((Number) row.get("WINNERS")).longValue();
+            assertThat(count).isLessThanOrEqualTo(rank == 1 ? FIRST_PRIZE_LIMIT : SECOND_PRIZE_LIMIT);
+        }
+
+        // 4. 모든 회원의 참여가 저장됨 (미당첨 write-behind 포함)
+        assertThat(jdbcTemplate.queryForObject("select count(*) from TB_LMS_EVENT where campaign_key = ?",
+                Long.class, CAMPAIGN_KEY)).isEqualTo(MEMBERS);
+    }
+
+    /**
+     * 캠페인 생성 직후, 요청을 보내기 전에 실행합니다. (하위 클래스에서 설정별 준비)
+     */
+    void campaignCreated() {
+    }
+
+    private void createCampaign(LocalDate today) {
+        CampaignRequest request = new CampaignRequest();
+        request.setName("부하 테스트");
+        request.setStartDate(today);
+        request.setEndDate(today);
+        request.setTiers(List.of(tier(1, FIRST_PRIZE_LIMIT, 0.01), tier(2, SECOND_PRIZE_LIMIT, 0.05)));
+        campaignService.save(CAMPAIGN_KEY, request);
+    }
+
+    private CampaignRequest.Tier tier(int rank, int limit, double probability) {
+        CampaignRequest.Tier tier = new CampaignRequest.Tier();
+        tier.setRank(rank);
+        tier.setLimit(limit);
+        tier.setProbability(probability);
+        return tier;
+    }
+
+    private List<String> createMembers() {
+        List<Object[]> rows = new ArrayList<>(MEMBERS);
+        List<String> tokens = new ArrayList<>(MEMBERS);
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member();
+            member.setId("load-" + i);
+            member.setUsername("load-user-" + i);
+            rows.add(new Object[] { member.getId(), member.getUsername() });
+            tokens.add(jwtUtils.generateToken(member));
+        }
+        jdbcTemplate.batchUpdate("insert into MEMBER (id, username, name, token_version) values (?, ?, 'load', 0)", rows);
+        return tokens;
+    }
+
+    private HttpRequest saveRequest(String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/event/save"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"campaignKey\":\"" + CAMPAIGN_KEY + "\"}"))
+                .build();
+    }
+
+    private HttpRequest checkRequest(String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/event/check?campaign=" + CAMPAIGN_KEY))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private void call(HttpClient client, HttpRequest request, LatencyRecorder latency, AtomicLong failures) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                failures.incrementAndGet();
+            }
+        } catch (Exception e) {
+            failures.incrementAndGet();
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Java 21 이상이면 가상 스레드, 아니면 고정 크기 스레드 풀을 사용합니다. (빌드 대상은 Java 17)
+     */
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(CONCURRENCY);
+        }
+    }
+
+    private static class LatencyRecorder {
+
+        private final ConcurrentLinkedQueue<Long> samples = new ConcurrentLinkedQueue<>();
+
+        void record(long nanos) {
+            samples.add(nanos);
+        }
+
+        void print(String name) {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (sorted.length == 0) {
+                return;
+            }
+            System.out.printf("%s - %,d건, p50 %.1fms, p95 %.1fms, p99 %.1fms, max %.1fms, 평균 %.1fms%n", name,
+                    sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1e6, Arrays.stream(sorted).average().orElse(0) / 1e6);
+        }
+
+        private double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package devlava.jwt.load;
+
+import devlava.jwt.service.LedgerPrizeQuotaStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * 여러 노드 배포 설정 (DB 원장, 기본 pacing-window) 으로 같은 부하 테스트를 실행합니다.
+ * 당첨 인원 예약이 원장 UPDATE 와 시간대별 허용 인원 확인을 거치므로 메모리 모드와 지연 시간을 비교할 수 있습니다.
+ * 원장은 요청 밖에서 sync-interval 마다 만들어지므로, 캠페인을 만든 직후 바로 동기화하여 첫 요청부터 원장을 사용하게 합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest-ledger;DB_CLOSE_DELAY=-1",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.show_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false",
+        "jwt.stateless=true",
+        "event.quota.mode=ledger"
+})
+class LedgerEventFlashCrowdLoadTest extends EventFlashCrowdLoadTest {
+
+    @Autowired
+    private LedgerPrizeQuotaStore ledgerPrizeQuotaStore;
+
+    @Override
+    void campaignCreated() {
+        ledgerPrizeQuotaStore.syncLedgers();
+    }
+}
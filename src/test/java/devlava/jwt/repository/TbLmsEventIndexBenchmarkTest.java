@@ -0,0 +1,130 @@
+package devlava.jwt.repository;
+
+import devlava.jwt.entity.Campaign;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TB_LMS_EVENT 에 100만 건을 넣고 주요 조회의 실행 계획이 인덱스를 사용하는지 확인합니다.
+ * 시간이 오래 걸리므로 기본 test 태스크에서는 제외됩니다. (./gradlew benchmarkTest)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TbLmsEventIndexBenchmarkTest {
+
+    private static final int MEMBER_COUNT = 10_000;
+    private static final int EVENTS_PER_MEMBER = 100;
+    private static final int DAYS = 30;
+    private static final int BATCH_SIZE = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TbLmsEventRepository eventRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> members = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(new Object[] { memberId(i), "bench-" + i, "bench" });
+            if (members.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into MEMBER (id, username, name, token_version) values (?, ?, ?, 0)", members);
+                members.clear();
+            }
+        }
+
+        // 회원당 100건, 최근 30일에 고르게 분포 (당첨은 1,000건에 1건)
+        List<Object[]> events = new ArrayList<>(BATCH_SIZE);
+        long sequence = 0;
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            for (int j = 0; j < EVENTS_PER_MEMBER; j++, sequence++) {
+                boolean draw = sequence % 1_000 == 0;
+                LocalDate day = today.minusDays(sequence % DAYS);
+                Timestamp createDt = Timestamp.valueOf(day.atStartOfDay().plusSeconds(sequence % 86_400));
+                events.add(new Object[] { memberId(i), draw, draw ? 1 + (int) (sequence % 2) : 0, createDt });
+                if (events.size() == BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate("insert into TB_LMS_EVENT (id, campaign_key, member_id, draw, rank, CREATE_DT) "
+                            + "values (next value for TB_LMS_EVENT_SEQ, 'default', ?, ?, ?, ?)", events);
+                    events.clear();
+                }
+            }
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("delete from TB_LMS_EVENT where member_id like 'bench-%'");
+        jdbcTemplate.update("delete from MEMBER where id like 'bench-%'");
+    }
+
+    @Test
+    @DisplayName("회원별 오늘 참여 내역 조회는 (campaign_key, member_id, create_dt) 인덱스를 사용")
+    void memberTodayUsesIndex() {
+        String plan = explain("select * from TB_LMS_EVENT where campaign_key = 'default' and member_id = ? and CREATE_DT >= ? and CREATE_DT < ?",
+                memberId(42), startOfDay(today), startOfDay(today.plusDays(1)));
+
+        assertThat(plan).containsIgnoringCase("IDX_LMS_EVENT_MEMBER_CREATE_DT");
+    }
+
+    @Test
+    @DisplayName("등수별 집계는 (campaign_key, create_dt, rank) 인덱스를 사용하고 한 번의 쿼리로 끝남")
+    void rankCountUsesIndex() {
+        String plan = explain("select rank, count(*) from TB_LMS_EVENT where campaign_key = 'default' and CREATE_DT >= ? and CREATE_DT < ? and rank > 0 group by rank",
+                startOfDay(today), startOfDay(today.plusDays(1)));
+
+        assertThat(plan).containsIgnoringCase("IDX_LMS_EVENT_CREATE_DT_RANK");
+
+        long start = System.nanoTime();
+        List<TbLmsEventRepository.RankCount> counts = eventRepository.countByCreateDtBetweenGroupByRank(
+                Campaign.DEFAULT_KEY,
+                Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant()),
+                Date.from(today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(counts).isNotEmpty();
+        System.out.printf("rank count over %,d rows: %d ms%n", MEMBER_COUNT * EVENTS_PER_MEMBER, elapsedMillis);
+    }
+
+    @Test
+    @DisplayName("당첨 내역 조회는 (draw, campaign_key, member_id) 인덱스를 사용")
+    void drawResultUsesIndex() {
+        String plan = explain("select * from TB_LMS_EVENT where draw = true and campaign_key = 'default' and member_id = ?", memberId(0));
+
+        assertThat(plan).containsIgnoringCase("IDX_LMS_EVENT_DRAW_MEMBER");
+    }
+
+    private String explain(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, args);
+        System.out.println(plan);
+        return plan;
+    }
+
+    private Timestamp startOfDay(LocalDate day) {
+        return Timestamp.valueOf(day.atStartOfDay());
+    }
+
+    private String memberId(int i) {
+        return "bench-" + i;
+    }
+}
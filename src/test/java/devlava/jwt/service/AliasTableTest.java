@@ -0,0 +1,54 @@
+package devlava.jwt.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AliasTableTest {
+
+    @Test
+    @DisplayName("추첨 결과는 가중치 비율을 따름")
+    void sample_1() {
+        // given
+        double[] weights = {0.7, 0.2, 0.1};
+        AliasTable table = AliasTable.of(weights);
+        SplittableRandom random = new SplittableRandom(1);
+        int draws = 1_000_000;
+
+        // when
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < draws; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        // then
+        for (int i = 0; i < weights.length; i++) {
+            assertThat((double) counts[i] / draws).isCloseTo(weights[i], within(0.005));
+        }
+    }
+
+    @Test
+    @DisplayName("가중치가 0 인 결과는 뽑히지 않음")
+    void sample_2() {
+        // given
+        AliasTable table = AliasTable.of(new double[] {1.0, 0.0, 0.0});
+        SplittableRandom random = new SplittableRandom(1);
+
+        // when & then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.sample(random)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("음수 가중치는 허용하지 않음")
+    void of_1() {
+        assertThatThrownBy(() -> AliasTable.of(new double[] {0.5, -0.1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,157 @@
+package devlava.jwt.service;
+
+import devlava.jwt.dto.BoardDto;
+import devlava.jwt.entity.AttachmentBlob;
+import devlava.jwt.repository.AttachmentBlobRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 참조 수 변경은 트랜잭션 밖에서만 가능하므로 @Transactional 을 사용하지 않음 (내용마다 다른 blob 사용)
+@SpringBootTest(properties = "file.upload.path=build/test-uploads")
+class AttachmentStorageTest {
+
+    @Autowired
+    private AttachmentBlobRepository blobRepository;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Test
+    @DisplayName("같은 내용은 파일 하나에 참조 수만 증가")
+    void store_1() {
+        // given
+        MockMultipartFile file = uniqueFile("a.txt");
+        MockMultipartFile sameContent = new MockMultipartFile("files", "b.txt", "text/plain", content(file));
+
+        // when
+        AttachmentStorage.StoredBlob first = attachmentStorage.store(file);
+        AttachmentStorage.StoredBlob second = attachmentStorage.store(sameContent);
+
+        // then
+        assertThat(second.checksum()).isEqualTo(first.checksum());
+        assertThat(second.path()).isEqualTo(first.path()).exists();
+        assertThat(blobRepository.findById(first.checksum()))
+                .get()
+                .extracting(AttachmentBlob::getRefCount)
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 해제하면 행과 파일 삭제")
+    void release_1() {
+        // given
+        AttachmentStorage.StoredBlob blob = attachmentStorage.store(uniqueFile("a.txt"));
+        attachmentStorage.store(new MockMultipartFile("files", "b.txt", "text/plain", readAll(blob)));
+
+        // when
+        attachmentStorage.release(blob.checksum());
+
+        // then
+        assertThat(blobRepository.findById(blob.checksum())).get()
+                .extracting(AttachmentBlob::getRefCount)
+                .isEqualTo(1);
+        assertThat(blob.path()).exists();
+
+        // when
+        attachmentStorage.release(blob.checksum());
+
+        // then
+        assertThat(blobRepository.findById(blob.checksum())).isNotPresent();
+        assertThat(blob.path()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("게시글 저장이 롤백되면 추가한 참조를 되돌림")
+    void release_2() {
+        // given
+        MockMultipartFile file = uniqueFile("a.txt");
+        BoardDto missingBoard = BoardDto.builder()
+                .boardId(-1L)
+                .title("없는 게시글")
+                .build();
+
+        // when
+        assertThatThrownBy(() -> boardService.updateBoard(List.of(file), missingBoard))
+                .hasMessageContaining("게시글을 찾을 수 없습니다.");
+
+        // then
+        String checksum = attachmentStorage.store(file).checksum();
+        assertThat(blobRepository.findById(checksum)).get()
+                .extracting(AttachmentBlob::getRefCount)
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 내용이 동시에 처음 올라와도 참조가 모두 반영됨")
+    void store_2() throws Exception {
+        // given
+        int threads = 8;
+        byte[] content = content(uniqueFile("a.txt"));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        List<Future<AttachmentStorage.StoredBlob>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            MockMultipartFile file = new MockMultipartFile("files", i + ".txt", "text/plain", content);
+            results.add(executor.submit(() -> {
+                start.await();
+                return attachmentStorage.store(file);
+            }));
+        }
+        start.countDown();
+        String checksum = null;
+        for (Future<AttachmentStorage.StoredBlob> result : results) {
+            checksum = result.get(30, TimeUnit.SECONDS).checksum();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(blobRepository.findById(checksum)).get()
+                .extracting(AttachmentBlob::getRefCount)
+                .isEqualTo(threads);
+        assertThat(attachmentStorage.pathOf(checksum)).exists();
+    }
+
+    private static MockMultipartFile uniqueFile(String name) {
+        return new MockMultipartFile("files", name, "text/plain",
+                ("첨부파일 " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] content(MockMultipartFile file) {
+        try {
+            return file.getBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readAll(AttachmentStorage.StoredBlob blob) {
+        try {
+            return Files.readAllBytes(blob.path());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package devlava.jwt.service;
+
+import devlava.jwt.repository.BoardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BoardSearchIndexTest {
+
+    private BoardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BoardSearchIndex(mock(BoardRepository.class));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("한글 부분 일치 검색 - 제목에 있으면 내용에만 있는 게시글보다 먼저")
+    void search_1() {
+        // given
+        index.index(1L, "공지사항", "게시판 검색 기능이 추가되었습니다.");
+        index.index(2L, "게시판 검색 안내", "자세한 내용은 본문 참고");
+        index.index(3L, "점심 메뉴", "오늘은 비빔밥");
+
+        // when
+        BoardSearchIndex.SearchResult result = index.search("게시판검색", 0, 10);
+
+        // then
+        assertThat(result.total()).isEqualTo(0);
+        assertThat(index.search("판 검색", 0, 10)).isNull();
+        assertThat(index.search("게시판", 0, 10).boardIds()).containsExactly(2L, 1L);
+        assertThat(index.search("검색 기능", 0, 10).boardIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("bigram 이 모두 있어도 서로 다른 단어에 떨어져 있으면 검색되지 않음")
+    void search_4() {
+        // given - "시판" 은 "게시판" 에, "판검" 은 "판검사" 에 따로 있음
+        index.index(1L, "게시판 공지", "판검사 출신 강사 특강");
+        index.index(2L, "중고 시판검사 일정", "자세한 내용은 본문 참고");
+
+        // when
+        BoardSearchIndex.SearchResult result = index.search("시판검", 0, 10);
+
+        // then
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.boardIds()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("다시 색인하면 이전 내용으로는 검색되지 않음")
+    void search_2() {
+        // given
+        index.index(1L, "Spring Boot", "설정 방법");
+
+        // when
+        index.index(1L, "JPA", "연관관계 매핑");
+
+        // then
+        assertThat(index.search("spring", 0, 10).total()).isZero();
+        assertThat(index.search("매핑", 0, 10).boardIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("전체 건수와 페이지 구간")
+    void search_3() {
+        // given
+        for (long id = 1; id <= 25; id++) {
+            index.index(id, "질문 " + id, "자바 질문입니다");
+        }
+
+        // when
+        BoardSearchIndex.SearchResult result = index.search("자바", 20, 10);
+
+        // then
+        assertThat(result.total()).isEqualTo(25);
+        assertThat(result.boardIds()).hasSize(5);
+    }
+}
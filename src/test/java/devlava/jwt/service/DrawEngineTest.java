@@ -0,0 +1,83 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.Campaign;
+import devlava.jwt.entity.CampaignPrizeTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+class DrawEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 25);
+
+    private DrawEngine drawEngine;
+    private CampaignDefinition campaign;
+
+    @BeforeEach
+    void setUp() {
+        // pacing-window 1시간, 최대 배율 10
+        drawEngine = new DrawEngine(mock(PrizeQuotaStore.class), 3_600_000, 1_000, 10);
+
+        Campaign entity = new Campaign();
+        entity.setKey("test");
+        entity.setName("테스트");
+        entity.setStartDate(DAY);
+        entity.setEndDate(DAY);
+        entity.setActive(true);
+        entity.getTiers().add(new CampaignPrizeTier(entity, null, 1, 24, 0.01));
+        entity.getTiers().add(new CampaignPrizeTier(entity, null, 2, 48, 0.02));
+        campaign = CampaignDefinition.compile(entity);
+    }
+
+    @Test
+    @DisplayName("일정대로 당첨되고 있으면 설정된 확률 그대로 추첨")
+    void effectiveWeights_1() {
+        // when - 정오, 하루 인원의 절반 사용
+        double[] weights = drawEngine.effectiveWeights(campaign, DAY, LocalTime.NOON, used(12, 24));
+
+        // then
+        assertThat(weights[1]).isCloseTo(0.01, within(1e-9));
+        assertThat(weights[2]).isCloseTo(0.02, within(1e-9));
+        assertThat(weights[0]).isCloseTo(0.97, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("당첨이 일정보다 늦으면 남은 시간에 맞춰 확률을 올림 (최대 배율 제한)")
+    void effectiveWeights_2() {
+        // when - 18시, 한 명도 당첨되지 않음 (남은 시간 1/4 에 하루 인원 전부)
+        double[] weights = drawEngine.effectiveWeights(campaign, DAY, LocalTime.of(18, 0), used(0, 0));
+        double[] lastMinute = drawEngine.effectiveWeights(campaign, DAY, LocalTime.of(23, 59), used(0, 0));
+
+        // then
+        assertThat(weights[1]).isCloseTo(0.04, within(1e-9));
+        assertThat(weights[2]).isCloseTo(0.08, within(1e-9));
+        assertThat(lastMinute[1]).isCloseTo(0.1, within(1e-9));
+        assertThat(lastMinute[2]).isCloseTo(0.2, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("시간대 몫이나 하루 인원을 다 쓴 등수는 추첨하지 않음")
+    void effectiveWeights_3() {
+        // when - 새벽 1시 (1등 허용 인원 2명), 1등 3명 당첨 / 2등 하루 인원 소진
+        double[] weights = drawEngine.effectiveWeights(campaign, DAY, LocalTime.of(1, 0), used(3, 48));
+
+        // then
+        assertThat(weights[1]).isZero();
+        assertThat(weights[2]).isZero();
+        assertThat(weights[0]).isEqualTo(1.0);
+    }
+
+    private int[] used(int first, int second) {
+        int[] used = new int[CampaignDefinition.MAX_RANK];
+        used[0] = first;
+        used[1] = second;
+        return used;
+    }
+}
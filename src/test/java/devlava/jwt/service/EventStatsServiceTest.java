@@ -0,0 +1,186 @@
+package devlava.jwt.service;
+
+import devlava.jwt.entity.Campaign;
+import devlava.jwt.entity.CampaignPrizeTier;
+import devlava.jwt.entity.EventDailyStats;
+import devlava.jwt.repository.EventDailyStatsRepository;
+import devlava.jwt.repository.TbLmsEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventStatsServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 25);
+
+    private EventDailyStatsRepository statsRepository;
+    private TbLmsEventRepository eventRepository;
+    private CampaignCatalog campaignCatalog;
+    private EventStatsService eventStatsService;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(EventDailyStatsRepository.class);
+        eventRepository = mock(TbLmsEventRepository.class);
+        campaignCatalog = mock(CampaignCatalog.class);
+        // 트랜잭션 매니저는 mock 이므로 TransactionTemplate 은 콜백만 실행
+        eventStatsService = new EventStatsService(statsRepository, eventRepository, campaignCatalog,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("집계 행이 있으면 모아 둔 증가분을 UPDATE 한 번으로 반영")
+    void flush_1() {
+        // given
+        when(statsRepository.increment("test", DAY, 1, 2)).thenReturn(1);
+        eventStatsService.record("test", DAY, 1);
+        eventStatsService.record("test", DAY, 1);
+
+        // when
+        eventStatsService.flush();
+
+        // then
+        verify(statsRepository).increment("test", DAY, 1, 2);
+        verify(statsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("집계 행이 없으면 증가분으로 행을 만듦")
+    void flush_2() {
+        // given
+        when(statsRepository.increment("test", DAY, 0, 1)).thenReturn(0);
+        eventStatsService.record("test", DAY, 0);
+
+        // when
+        eventStatsService.flush();
+
+        // then
+        ArgumentCaptor<EventDailyStats> saved = ArgumentCaptor.forClass(EventDailyStats.class);
+        verify(statsRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getCampaignKey()).isEqualTo("test");
+        assertThat(saved.getValue().getEventDay()).isEqualTo(DAY);
+        assertThat(saved.getValue().getRank()).isEqualTo(0);
+        assertThat(saved.getValue().getEntries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 먼저 행을 만들었으면 다시 UPDATE")
+    void flush_3() {
+        // given
+        when(statsRepository.increment("test", DAY, 1, 1)).thenReturn(0, 1);
+        when(statsRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_event_daily_stats"));
+        eventStatsService.record("test", DAY, 1);
+
+        // when
+        eventStatsService.flush();
+
+        // then
+        verify(statsRepository, times(2)).increment("test", DAY, 1, 1);
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 커밋된 뒤에만 집계에 더함")
+    void recordOnCommit_1() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        when(statsRepository.increment("test", DAY, 1, 1)).thenReturn(1);
+        eventStatsService.recordOnCommit("test", DAY, 1);
+
+        // when - 커밋 전
+        eventStatsService.flush();
+
+        // then
+        verify(statsRepository, never()).increment(anyString(), any(), anyInt(), anyLong());
+
+        // when - 커밋 후
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        eventStatsService.flush();
+
+        // then
+        verify(statsRepository).increment("test", DAY, 1, 1);
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 집계에 더하지 않음")
+    void recordOnCommit_2() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        eventStatsService.recordOnCommit("test", DAY, 1);
+
+        // when
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        eventStatsService.flush();
+
+        // then
+        verify(statsRepository, never()).increment(anyString(), any(), anyInt(), anyLong());
+        verify(statsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("처음 보정할 때 기존 참여 내역 건수로 집계 행을 만듦")
+    void reconcile_1() {
+        // given
+        Campaign entity = new Campaign();
+        entity.setKey("test");
+        entity.setName("테스트");
+        entity.setStartDate(DAY);
+        entity.setEndDate(DAY);
+        entity.setActive(true);
+        entity.getTiers().add(new CampaignPrizeTier(entity, null, 1, 10, 0.01));
+        when(campaignCatalog.findAll()).thenReturn(List.of(CampaignDefinition.compile(entity)));
+
+        TbLmsEventRepository.DayRankCount losers = dayRankCount(0, 7);
+        TbLmsEventRepository.DayRankCount winners = dayRankCount(1, 3);
+        when(eventRepository.countByCreateDtBetweenGroupByDayAndRank(anyString(), any(), any()))
+                .thenReturn(List.of(losers, winners));
+        when(statsRepository.overwrite("test", DAY, 0, 7)).thenReturn(1);
+        when(statsRepository.overwrite("test", DAY, 1, 3)).thenReturn(0);
+
+        // when
+        eventStatsService.reconcile();
+
+        // then
+        verify(statsRepository).overwrite("test", DAY, 0, 7);
+        ArgumentCaptor<EventDailyStats> saved = ArgumentCaptor.forClass(EventDailyStats.class);
+        verify(statsRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getRank()).isEqualTo(1);
+        assertThat(saved.getValue().getEntries()).isEqualTo(3);
+    }
+
+    private static TbLmsEventRepository.DayRankCount dayRankCount(int rank, long count) {
+        TbLmsEventRepository.DayRankCount dayRankCount = mock(TbLmsEventRepository.DayRankCount.class);
+        when(dayRankCount.getEventDay()).thenReturn(DAY);
+        when(dayRankCount.getRank()).thenReturn(rank);
+        when(dayRankCount.getCount()).thenReturn(count);
+        return dayRankCount;
+    }
+}
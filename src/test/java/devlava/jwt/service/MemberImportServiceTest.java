@@ -0,0 +1,72 @@
+package devlava.jwt.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberImportServiceTest {
+
+    @Test
+    @DisplayName("따옴표 안의 쉼표는 필드 구분자가 아님")
+    void readCsvRecord_1() throws IOException {
+        // when
+        List<String> fields = MemberImportService.readCsvRecord("user1,\"kim, minsu\",김민수", reader(""));
+
+        // then
+        assertThat(fields).containsExactly("user1", "kim, minsu", "김민수");
+    }
+
+    @Test
+    @DisplayName("따옴표 안의 \"\" 는 큰따옴표 한 개")
+    void readCsvRecord_2() throws IOException {
+        // when
+        List<String> fields = MemberImportService.readCsvRecord("user1,\"say \"\"hi\"\"\",USER", reader(""));
+
+        // then
+        assertThat(fields).containsExactly("user1", "say \"hi\"", "USER");
+    }
+
+    @Test
+    @DisplayName("따옴표 안의 줄바꿈은 다음 줄을 같은 필드로 이어서 읽음")
+    void readCsvRecord_3() throws IOException {
+        // given
+        BufferedReader reader = reader("second line\",USER\nuser2,lee");
+
+        // when
+        List<String> fields = MemberImportService.readCsvRecord("user1,\"first line", reader);
+
+        // then
+        assertThat(fields).containsExactly("user1", "first line\nsecond line", "USER");
+        assertThat(reader.readLine()).isEqualTo("user2,lee");
+    }
+
+    @Test
+    @DisplayName("파일 끝까지 따옴표가 닫히지 않으면 null")
+    void readCsvRecord_4() throws IOException {
+        // when
+        List<String> fields = MemberImportService.readCsvRecord("user1,\"never closed", reader("still open"));
+
+        // then
+        assertThat(fields).isNull();
+    }
+
+    @Test
+    @DisplayName("닫는 따옴표 뒤에 다른 문자가 있으면 null")
+    void readCsvRecord_5() throws IOException {
+        // when
+        List<String> fields = MemberImportService.readCsvRecord("user1,\"kim\"minsu,USER", reader(""));
+
+        // then
+        assertThat(fields).isNull();
+    }
+
+    private static BufferedReader reader(String remaining) {
+        return new BufferedReader(new StringReader(remaining));
+    }
+}